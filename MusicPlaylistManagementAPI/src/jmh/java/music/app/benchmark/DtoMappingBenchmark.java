@@ -0,0 +1,67 @@
+package music.app.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import music.app.controller.model.PlaylistDto;
+import music.app.controller.model.SongDto;
+import music.app.controller.model.UserDto;
+import music.app.entity.Playlist;
+import music.app.entity.Song;
+import music.app.entity.User;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+	@Benchmark
+	public List<UserDto> mapUsers(GraphState graph) {
+		List<UserDto> userDtos = new ArrayList<>(graph.userGraph.size());
+		for(User user : graph.userGraph) {
+			userDtos.add(new UserDto(user, true));
+		}
+		return userDtos;
+	}
+
+	@Benchmark
+	public List<PlaylistDto> mapPlaylists(GraphState graph) {
+		List<PlaylistDto> playlistDtos = new ArrayList<>(graph.playlistGraph.size());
+		for(Playlist playlist : graph.playlistGraph) {
+			playlistDtos.add(new PlaylistDto(playlist, true));
+		}
+		return playlistDtos;
+	}
+
+	@Benchmark
+	public List<SongDto> mapSongsWithPlaylistIds(GraphState graph) {
+		List<SongDto> songDtos = new ArrayList<>(graph.songGraph.size());
+		for(Song song : graph.songGraph) {
+			songDtos.add(new SongDto(song, true));
+		}
+		return songDtos;
+	}
+
+	@Benchmark
+	public void serializeUsers(GraphState graph) throws IOException {
+		graph.objectMapper.writeValue(OutputStream.nullOutputStream(), graph.userDtos);
+	}
+
+	@Benchmark
+	public void mapAndSerializeUsers(GraphState graph) throws IOException {
+		graph.objectMapper.writeValue(OutputStream.nullOutputStream(), mapUsers(graph));
+	}
+}
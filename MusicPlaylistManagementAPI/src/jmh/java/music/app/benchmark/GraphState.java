@@ -0,0 +1,85 @@
+package music.app.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import music.app.controller.model.UserDto;
+import music.app.entity.Playlist;
+import music.app.entity.Song;
+import music.app.entity.User;
+
+@State(Scope.Benchmark)
+public class GraphState {
+
+	@Param("100")
+	public int users;
+	@Param("10")
+	public int playlistsPerUser;
+	@Param("30")
+	public int songsPerPlaylist;
+	@Param("5000")
+	public int catalogSize;
+	@Param("3.0")
+	public double popularitySkew;
+
+	List<User> userGraph;
+	List<Playlist> playlistGraph;
+	List<Song> songGraph;
+	List<UserDto> userDtos;
+	ObjectMapper objectMapper;
+
+	@Setup(Level.Trial)
+	public void buildGraph() {
+		Random random = new Random(42);
+		songGraph = new ArrayList<>(catalogSize);
+		for(int i = 1; i <= catalogSize; i++) {
+			Song song = new Song();
+			song.setSongId((long) i);
+			song.setSongTitle("Song " + i);
+			song.setSongAlbum("Album " + i / 12);
+			song.setSongArtist("Artist " + i / 40);
+			song.setSongDurationSeconds(120 + random.nextInt(300));
+			songGraph.add(song);
+		}
+		userGraph = new ArrayList<>(users);
+		playlistGraph = new ArrayList<>(users * playlistsPerUser);
+		long playlistId = 1;
+		for(int u = 1; u <= users; u++) {
+			User user = new User();
+			user.setUserId((long) u);
+			user.setUserName("user" + u);
+			user.setUserEmail("user" + u + "@example.com");
+			for(int p = 0; p < playlistsPerUser; p++) {
+				Playlist playlist = new Playlist();
+				playlist.setPlaylistId(playlistId++);
+				playlist.setPlaylistTitle("Playlist " + playlist.getPlaylistId());
+				playlist.setImageUrl("https://example.com/" + playlist.getPlaylistId() + ".png");
+				playlist.setUser(user);
+				while(playlist.getSongs().size() < Math.min(songsPerPlaylist, catalogSize)) {
+					playlist.getSongs().add(songGraph.get((int) (catalogSize * Math.pow(random.nextDouble(), popularitySkew))));
+				}
+				playlist.setSongCount(playlist.getSongs().size());
+				playlist.setTotalDurationSeconds(playlist
+						.getSongs()
+						.stream()
+						.mapToLong(Song::getSongDurationSeconds)
+						.sum());
+				playlist.getSongs().forEach(song -> song.getPlaylists().add(playlist));
+				user.getPlaylists().add(playlist);
+				playlistGraph.add(playlist);
+			}
+			userGraph.add(user);
+		}
+		userDtos = userGraph.stream().map(UserDto::new).toList();
+		objectMapper = new ObjectMapper();
+	}
+}
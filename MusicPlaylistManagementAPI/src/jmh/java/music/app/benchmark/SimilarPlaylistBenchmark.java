@@ -0,0 +1,155 @@
+package music.app.benchmark;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import music.app.service.MinHashIndex;
+
+/**
+ * Compares the MinHash/LSH lookup behind the similar-playlists endpoint with an exact Jaccard scan
+ * over every playlist. Half of the synthetic playlists are edits of an earlier playlist, so each
+ * query has real near neighbors. Recall of the LSH top results against the exact top results,
+ * counting neighbors with a Jaccard index of at least {@code minSimilarity}, is printed once per
+ * trial next to the measured latencies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SimilarPlaylistBenchmark {
+
+	private static final int LIMIT = 10;
+	private static final int RECALL_QUERIES = 300;
+
+	@Param("20000")
+	public int playlists;
+	@Param("30")
+	public int songsPerPlaylist;
+	@Param("20000")
+	public int catalogSize;
+	@Param("0.3")
+	public double editFraction;
+	@Param("0.3")
+	public double minSimilarity;
+	@Param({"16", "32"})
+	public int bands;
+	@Param({"2", "4"})
+	public int rows;
+
+	private long[][] songsByPlaylist;
+	private MinHashIndex index;
+	private int nextQuery;
+
+	private record Neighbor(long id, double similarity) {
+	}
+
+	@Setup(Level.Trial)
+	public void buildIndex() {
+		Random random = new Random(42);
+		songsByPlaylist = new long[playlists + 1][];
+		for(int p = 1; p <= playlists; p++) {
+			Set<Long> songs = new HashSet<>();
+			if(p > 1 && random.nextBoolean()) {
+				long[] original = songsByPlaylist[1 + random.nextInt(p - 1)];
+				for(long songId : original) {
+					if(random.nextDouble() >= editFraction) {
+						songs.add(songId);
+					}
+				}
+			}
+			while(songs.size() < songsPerPlaylist) {
+				songs.add(1L + random.nextInt(catalogSize));
+			}
+			songsByPlaylist[p] = songs.stream().mapToLong(Long::longValue).sorted().toArray();
+		}
+		index = new MinHashIndex(bands, rows, 0x5EED);
+		for(int p = 1; p <= playlists; p++) {
+			index.put(p, songsByPlaylist[p]);
+		}
+		int expected = 0;
+		int found = 0;
+		for(int q = 0; q < RECALL_QUERIES; q++) {
+			long playlistId = 1 + random.nextInt(playlists);
+			Set<Long> approximate = new HashSet<>();
+			index.query(playlistId, LIMIT).forEach(match -> approximate.add(match.id()));
+			for(Neighbor neighbor : exactTop(playlistId)) {
+				if(neighbor.similarity() >= minSimilarity) {
+					expected++;
+					if(approximate.contains(neighbor.id())) {
+						found++;
+					}
+				}
+			}
+		}
+		System.out.printf("%nbands=%d rows=%d recall@%d=%.3f over %d neighbors with Jaccard >= %.2f%n",
+				bands, rows, LIMIT, expected == 0 ? 1.0 : (double) found / expected, expected, minSimilarity);
+	}
+
+	@Benchmark
+	public List<MinHashIndex.Match> lshQuery() {
+		return index.query(nextPlaylistId(), LIMIT);
+	}
+
+	@Benchmark
+	public List<Neighbor> exactScan() {
+		return exactTop(nextPlaylistId());
+	}
+
+	private long nextPlaylistId() {
+		nextQuery = nextQuery % playlists + 1;
+		return nextQuery;
+	}
+
+	private List<Neighbor> exactTop(long playlistId) {
+		long[] songs = songsByPlaylist[(int) playlistId];
+		PriorityQueue<Neighbor> top = new PriorityQueue<>(Comparator.comparingDouble(Neighbor::similarity));
+		for(int p = 1; p <= playlists; p++) {
+			if(p == playlistId) {
+				continue;
+			}
+			long[] other = songsByPlaylist[p];
+			int shared = 0;
+			for(int i = 0, j = 0; i < songs.length && j < other.length;) {
+				if(songs[i] == other[j]) {
+					shared++;
+					i++;
+					j++;
+				} else if(songs[i] < other[j]) {
+					i++;
+				} else {
+					j++;
+				}
+			}
+			if(shared > 0) {
+				top.add(new Neighbor(p, (double) shared / (songs.length + other.length - shared)));
+				if(top.size() > LIMIT) {
+					top.poll();
+				}
+			}
+		}
+		List<Neighbor> neighbors = new ArrayList<>(top);
+		neighbors.sort(Comparator.comparingDouble(Neighbor::similarity).reversed());
+		return neighbors;
+	}
+}
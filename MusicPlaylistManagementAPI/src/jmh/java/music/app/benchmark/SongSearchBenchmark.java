@@ -0,0 +1,100 @@
+package music.app.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import music.app.controller.model.SongSearchHitDto;
+import music.app.dao.SongSummary;
+import music.app.service.SongSearchIndex;
+
+/**
+ * Samples song search latency over a synthetic catalog shaped like the load test seed: artists and
+ * albums named {@code artist-N} and {@code album-N}, titles drawn from a skewed vocabulary. The
+ * fixed queries are the broadest ones, matching every song; {@code mixed} cycles through short and
+ * full title words, artist and album lookups and two-word queries. Read the p0.99 line.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Benchmark)
+public class SongSearchBenchmark {
+
+	private static final int LIMIT = 20;
+	private static final int VOCABULARY = 5000;
+	private static final int MIXED_QUERIES = 4096;
+
+	@Param("1000000")
+	public int songs;
+	@Param({"ar", "artist", "album", "mixed"})
+	public String query;
+
+	private SongSearchIndex index;
+	private List<List<String>> queries;
+	private int nextQuery;
+
+	@Setup(Level.Trial)
+	public void buildIndex() {
+		Random random = new Random(42);
+		String[] words = new String[VOCABULARY];
+		for(int w = 0; w < VOCABULARY; w++) {
+			StringBuilder word = new StringBuilder();
+			for(int length = 3 + random.nextInt(7); word.length() < length;) {
+				word.append((char) ('a' + random.nextInt(26)));
+			}
+			words[w] = word.toString();
+		}
+		index = new SongSearchIndex();
+		for(int i = 0; i < songs; i++) {
+			String title = word(words, random) + " " + word(words, random)
+					+ (random.nextBoolean() ? " " + word(words, random) : "");
+			index.add(new SongSummary((long) i + 1, title, "artist-" + i / 40, "album-" + i / 12));
+		}
+		queries = new ArrayList<>();
+		if(!query.equals("mixed")) {
+			queries.add(List.copyOf(SongSearchIndex.tokenize(query)));
+		} else {
+			for(int q = 0; q < MIXED_QUERIES; q++) {
+				String word = word(words, random);
+				String text = switch(q % 6) {
+					case 0 -> word.substring(0, 2 + random.nextInt(2));
+					case 1 -> word;
+					case 2 -> "artist " + random.nextInt(songs / 40);
+					case 3 -> "album-" + random.nextInt(songs / 12);
+					case 4 -> word + " " + word(words, random).substring(0, 2);
+					default -> List.of("ar", "artist", "album").get(random.nextInt(3));
+				};
+				queries.add(List.copyOf(SongSearchIndex.tokenize(text)));
+			}
+		}
+		System.out.printf("%nsongs=%d terms=%d postings=%d ~%d MB%n", index.songCount(), index.termCount(),
+				index.postingCount(), index.estimatedBytes() >> 20);
+	}
+
+	@Benchmark
+	public List<SongSearchHitDto> search() {
+		nextQuery = (nextQuery + 1) % queries.size();
+		return index.search(queries.get(nextQuery), LIMIT);
+	}
+
+	private static String word(String[] words, Random random) {
+		double skew = random.nextDouble();
+		return words[(int) (skew * skew * words.length)];
+	}
+}
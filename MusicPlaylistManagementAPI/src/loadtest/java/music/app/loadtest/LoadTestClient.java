@@ -0,0 +1,93 @@
+package music.app.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class LoadTestClient {
+
+	private final HttpClient httpClient = HttpClient
+			.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(10))
+			.build();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final String baseUrl;
+
+	public LoadTestClient(int port) {
+		this.baseUrl = "http://localhost:" + port + "/app";
+	}
+
+	public HttpRequest.Builder request(String path) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofMinutes(5));
+	}
+
+	public HttpRequest get(String path) {
+		return request(path).GET().build();
+	}
+
+	public HttpRequest delete(String path) {
+		return request(path).DELETE().build();
+	}
+
+	public HttpRequest postJson(String path, Object body) {
+		return request(path)
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(toJson(body)))
+				.build();
+	}
+
+	public HttpRequest putJson(String path, Object body) {
+		return request(path)
+				.header("Content-Type", "application/json")
+				.PUT(HttpRequest.BodyPublishers.ofString(toJson(body)))
+				.build();
+	}
+
+	public HttpRequest postCsv(String path, String csv) {
+		return request(path)
+				.header("Content-Type", "text/csv")
+				.POST(HttpRequest.BodyPublishers.ofString(csv))
+				.build();
+	}
+
+	public HttpResponse<Void> sendDiscarding(HttpRequest request) throws IOException, InterruptedException {
+		return httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+	}
+
+	public HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+		HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+		if(response.statusCode() >= 400) {
+			throw new IllegalStateException(request.method() + " " + request.uri() + " returned "
+					+ response.statusCode() + ": " + response.body());
+		}
+		return response;
+	}
+
+	public HttpResponse<InputStream> sendForStream(HttpRequest request) throws IOException, InterruptedException {
+		return httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+	}
+
+	public JsonNode sendForJson(HttpRequest request) throws IOException, InterruptedException {
+		return objectMapper.readTree(send(request).body());
+	}
+
+	public ObjectMapper objectMapper() {
+		return objectMapper;
+	}
+
+	private String toJson(Object body) {
+		try {
+			return objectMapper.writeValueAsString(body);
+		} catch(IOException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+}
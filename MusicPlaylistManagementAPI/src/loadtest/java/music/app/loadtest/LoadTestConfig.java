@@ -0,0 +1,54 @@
+package music.app.loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+public record LoadTestConfig(int users, int playlistsPerUser, int songs, int songsPerPlaylist,
+		double popularitySkew, int scratchUsers, int concurrency, int warmupSeconds, int durationSeconds,
+		Pattern scenarios, Path report, Path baseline, String[] profiles, int dbLatencyMillis,
+		Pattern backgroundScenarios, int backgroundConcurrency) {
+
+	public static LoadTestConfig fromArgs(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for(String arg : args) {
+			String option = arg.startsWith("--") ? arg.substring(2) : arg;
+			int separator = option.indexOf('=');
+			if(separator < 0) {
+				throw new IllegalArgumentException("Expected key=value but got \"" + arg + "\".");
+			}
+			options.put(option.substring(0, separator), option.substring(separator + 1));
+		}
+		if(Integer.parseInt(options.getOrDefault("backgroundConcurrency", "0")) > 0 && !options.containsKey("background")) {
+			throw new IllegalArgumentException(
+					"backgroundConcurrency requires background=<scenario regex> naming the scenarios to run in the background.");
+		}
+		return new LoadTestConfig(
+				Integer.parseInt(options.getOrDefault("users", "200")),
+				Integer.parseInt(options.getOrDefault("playlistsPerUser", "5")),
+				Integer.parseInt(options.getOrDefault("songs", "5000")),
+				Integer.parseInt(options.getOrDefault("songsPerPlaylist", "20")),
+				Double.parseDouble(options.getOrDefault("popularitySkew", "3.0")),
+				Integer.parseInt(options.getOrDefault("scratchUsers", "20")),
+				Integer.parseInt(options.getOrDefault("concurrency", "16")),
+				Integer.parseInt(options.getOrDefault("warmupSeconds", "2")),
+				Integer.parseInt(options.getOrDefault("durationSeconds", "5")),
+				Pattern.compile(options.getOrDefault("scenarios", ".*")),
+				Path.of(options.getOrDefault("report", "target/loadtest/loadtest-report.tsv")),
+				options.containsKey("baseline") ? Path.of(options.get("baseline")) : null,
+				options.getOrDefault("profiles", "").isBlank() ? new String[0] : options.get("profiles").split(","),
+				Integer.parseInt(options.getOrDefault("dbLatencyMs", "0")),
+				options.containsKey("background") ? Pattern.compile(options.get("background")) : null,
+				Integer.parseInt(options.getOrDefault("backgroundConcurrency", "0")));
+	}
+
+	public String describeShape() {
+		return "users=" + users + " playlistsPerUser=" + playlistsPerUser + " songs=" + songs
+				+ " songsPerPlaylist=" + songsPerPlaylist + " popularitySkew=" + popularitySkew
+				+ " concurrency=" + concurrency + " durationSeconds=" + durationSeconds
+				+ " profiles=" + String.join(",", profiles) + " dbLatencyMs=" + dbLatencyMillis
+				+ (backgroundConcurrency > 0 ? " background=" + backgroundScenarios + " backgroundConcurrency="
+						+ backgroundConcurrency : "");
+	}
+}
@@ -0,0 +1,79 @@
+package music.app.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class LoadTestReport {
+
+	private static final String HEADER = "scenario\trequests\terrors\tthroughput_rps\tp50_ms\tp95_ms\tp99_ms\tmax_ms\tmax_sql\tsql_budget_violations";
+
+	private final LoadTestConfig config;
+	private final List<ScenarioResult> results;
+
+	public LoadTestReport(LoadTestConfig config, List<ScenarioResult> results) {
+		this.config = config;
+		this.results = results;
+	}
+
+	public void write(Path path) throws IOException {
+		List<String> lines = new ArrayList<>();
+		lines.add("# " + config.describeShape());
+		lines.add(HEADER);
+		for(ScenarioResult result : results) {
+			lines.add(String.format(Locale.ROOT, "%s\t%d\t%d\t%.1f\t%.2f\t%.2f\t%.2f\t%.2f\t%d\t%d", result.name(),
+					result.requests(), result.errors(), result.throughput(), result.p50Millis(),
+					result.p95Millis(), result.p99Millis(), result.maxMillis(), result.maxSqlStatements(),
+					result.sqlBudgetViolations()));
+		}
+		if(path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		Files.write(path, lines);
+	}
+
+	public String format() {
+		StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+				"%-64s %9s %7s %10s %9s %9s %9s %9s %8s %8s%n", "scenario", "requests", "errors", "req/s",
+				"p50 ms", "p95 ms", "p99 ms", "max ms", "max sql", "over"));
+		for(ScenarioResult result : results) {
+			table.append(String.format(Locale.ROOT, "%-64s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %8d %8d%n",
+					result.name(), result.requests(), result.errors(), result.throughput(), result.p50Millis(),
+					result.p95Millis(), result.p99Millis(), result.maxMillis(), result.maxSqlStatements(),
+					result.sqlBudgetViolations()));
+		}
+		return table.toString();
+	}
+
+	public String compareTo(Path baseline) throws IOException {
+		Map<String, String[]> baselineRows = new HashMap<>();
+		for(String line : Files.readAllLines(baseline)) {
+			if(!line.startsWith("#") && !line.equals(HEADER)) {
+				String[] columns = line.split("\t");
+				baselineRows.put(columns[0], columns);
+			}
+		}
+		StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%-64s %12s %12s%n",
+				"scenario", "req/s delta", "p99 delta"));
+		for(ScenarioResult result : results) {
+			String[] row = baselineRows.get(result.name());
+			if(row == null) {
+				table.append(String.format(Locale.ROOT, "%-64s %12s %12s%n", result.name(), "new", "new"));
+				continue;
+			}
+			table.append(String.format(Locale.ROOT, "%-64s %+11.1f%% %+11.1f%%%n", result.name(),
+					change(Double.parseDouble(row[3]), result.throughput()),
+					change(Double.parseDouble(row[6]), result.p99Millis())));
+		}
+		return table.toString();
+	}
+
+	private static double change(double before, double after) {
+		return before == 0 ? 0 : (after - before) / before * 100;
+	}
+}
@@ -0,0 +1,179 @@
+package music.app.loadtest;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import music.app.MusicApplication;
+
+public class LoadTestRunner {
+
+	private static final String SQL_STATEMENTS_HEADER = "X-SQL-Statements";
+	private static final String SQL_BUDGET_EXCEEDED_HEADER = "X-SQL-Budget-Exceeded";
+
+	private record WorkerResult(long[] latencies, long errors, int maxSqlStatements, long sqlBudgetViolations,
+			String firstError) {
+	}
+
+	public static void main(String[] args) throws Exception {
+		LoadTestConfig config = LoadTestConfig.fromArgs(args);
+		List<String> profiles = new ArrayList<>(List.of("loadtest"));
+		profiles.addAll(Arrays.asList(config.profiles()));
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(MusicApplication.class)
+				.profiles(profiles.toArray(String[]::new))
+				.properties(SlowDatabasePostProcessor.LATENCY_PROPERTY + "=" + config.dbLatencyMillis())
+				.run();
+		ExecutorService executor = Executors.newFixedThreadPool(config.concurrency());
+		ExecutorService background = Executors.newCachedThreadPool();
+		long sqlBudgetViolations = 0;
+		try {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			LoadTestClient client = new LoadTestClient(port);
+			long seedStart = System.nanoTime();
+			SeedData seed = new LoadTestSeeder(config, client, executor).seed();
+			System.out.printf("Seeded %s in %d ms.%n", config.describeShape(),
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+
+			LoadTestScenarios scenarios = new LoadTestScenarios(client, seed);
+			startBackgroundLoad(config, scenarios, client, background);
+			List<ScenarioResult> results = new ArrayList<>();
+			for(Scenario scenario : scenarios.all()) {
+				if(!config.scenarios().matcher(scenario.name()).find()) {
+					continue;
+				}
+				run(scenario, client, executor, config.concurrency(), config.warmupSeconds());
+				ScenarioResult result = run(scenario, client, executor, config.concurrency(), config.durationSeconds());
+				results.add(result);
+				sqlBudgetViolations += result.sqlBudgetViolations();
+				System.out.printf("%s: %.1f req/s, p99 %.2f ms, %d errors, %d over SQL budget%s%n", result.name(),
+						result.throughput(), result.p99Millis(), result.errors(), result.sqlBudgetViolations(),
+						result.firstError() != null ? " (" + result.firstError() + ")" : "");
+			}
+
+			LoadTestReport report = new LoadTestReport(config, results);
+			report.write(config.report());
+			System.out.println();
+			System.out.print(report.format());
+			System.out.println("Report written to " + config.report().toAbsolutePath());
+			if(config.baseline() != null) {
+				System.out.println();
+				System.out.print(report.compareTo(config.baseline()));
+			}
+		} finally {
+			background.shutdownNow();
+			executor.shutdownNow();
+			background.awaitTermination(30, TimeUnit.SECONDS);
+			context.close();
+		}
+		if(sqlBudgetViolations > 0) {
+			System.err.println(sqlBudgetViolations + " requests exceeded their SQL budget.");
+			System.exit(1);
+		}
+	}
+
+	private static void startBackgroundLoad(LoadTestConfig config, LoadTestScenarios scenarios,
+			LoadTestClient client, ExecutorService background) {
+		if(config.backgroundConcurrency() <= 0) {
+			return;
+		}
+		List<Scenario> load = scenarios
+				.all()
+				.stream()
+				.filter(scenario -> config.backgroundScenarios().matcher(scenario.name()).find())
+				.toList();
+		if(load.isEmpty()) {
+			throw new IllegalArgumentException("No scenario matches background=" + config.backgroundScenarios());
+		}
+		for(int i = 0; i < config.backgroundConcurrency(); i++) {
+			Scenario scenario = load.get(i % load.size());
+			background.submit(() -> {
+				while(!Thread.currentThread().isInterrupted()) {
+					try {
+						client.sendDiscarding(scenario.nextRequest().call());
+					} catch(InterruptedException e) {
+						return;
+					} catch(Exception e) {
+						// Background load only keeps the server busy; its failures are not measured.
+					}
+				}
+			});
+		}
+		System.out.printf("Started %d background workers on %s.%n", config.backgroundConcurrency(),
+				load.stream().map(Scenario::name).toList());
+	}
+
+	private static ScenarioResult run(Scenario scenario, LoadTestClient client, ExecutorService executor,
+			int concurrency, int seconds) throws Exception {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+		List<Callable<WorkerResult>> workers = new ArrayList<>(concurrency);
+		for(int i = 0; i < concurrency; i++) {
+			workers.add(() -> {
+				long[] latencies = new long[1024];
+				int count = 0;
+				long errors = 0;
+				int maxSqlStatements = 0;
+				long sqlBudgetViolations = 0;
+				String firstError = null;
+				while(System.nanoTime() < deadline) {
+					try {
+						HttpRequest request = scenario.nextRequest().call();
+						long start = System.nanoTime();
+						HttpResponse<Void> response = client.sendDiscarding(request);
+						long latency = System.nanoTime() - start;
+						if(count == latencies.length) {
+							latencies = Arrays.copyOf(latencies, count * 2);
+						}
+						latencies[count++] = latency;
+						maxSqlStatements = Math.max(maxSqlStatements, response.headers()
+								.firstValue(SQL_STATEMENTS_HEADER).map(Integer::parseInt).orElse(0));
+						String budgetExceeded = response.headers().firstValue(SQL_BUDGET_EXCEEDED_HEADER).orElse(null);
+						if(budgetExceeded != null) {
+							sqlBudgetViolations++;
+							firstError = firstError != null ? firstError : "SQL budget exceeded: " + budgetExceeded;
+						}
+						if(response.statusCode() >= 400) {
+							errors++;
+							firstError = firstError != null ? firstError : "HTTP " + response.statusCode();
+						}
+					} catch(Exception e) {
+						errors++;
+						firstError = firstError != null ? firstError : e.toString();
+					}
+				}
+				return new WorkerResult(Arrays.copyOf(latencies, count), errors, maxSqlStatements,
+						sqlBudgetViolations, firstError);
+			});
+		}
+		long start = System.nanoTime();
+		List<Future<WorkerResult>> futures = executor.invokeAll(workers);
+		long elapsed = System.nanoTime() - start;
+		long[] latencies = new long[0];
+		long errors = 0;
+		int maxSqlStatements = 0;
+		long sqlBudgetViolations = 0;
+		String firstError = null;
+		for(Future<WorkerResult> future : futures) {
+			WorkerResult result = future.get();
+			int offset = latencies.length;
+			latencies = Arrays.copyOf(latencies, offset + result.latencies().length);
+			System.arraycopy(result.latencies(), 0, latencies, offset, result.latencies().length);
+			errors += result.errors();
+			maxSqlStatements = Math.max(maxSqlStatements, result.maxSqlStatements());
+			sqlBudgetViolations += result.sqlBudgetViolations();
+			firstError = firstError != null ? firstError : result.firstError();
+		}
+		return ScenarioResult.of(scenario.name(), latencies, errors, elapsed, maxSqlStatements,
+				sqlBudgetViolations, firstError);
+	}
+}
@@ -0,0 +1,172 @@
+package music.app.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import music.app.loadtest.SeedData.UserPlaylist;
+
+public class LoadTestScenarios {
+
+	private static final int IMPORT_BATCH_SIZE = 100;
+	private static final int PLAYLIST_BATCH_SIZE = 10;
+
+	private final LoadTestClient client;
+	private final SeedData seed;
+	private final AtomicLong sequence = new AtomicLong();
+	private final String runId = Long.toString(System.currentTimeMillis(), 36);
+	private final Map<Long, String> userETags = new ConcurrentHashMap<>();
+
+	public LoadTestScenarios(LoadTestClient client, SeedData seed) {
+		this.client = client;
+		this.seed = seed;
+	}
+
+	public List<Scenario> all() {
+		List<Scenario> scenarios = new ArrayList<>();
+		scenarios.add(new Scenario("GET /users", () -> client.get("/users?limit=50")));
+		scenarios.add(new Scenario("GET /users/{userId}", () -> client.get("/users/" + seed.randomUserId())));
+		scenarios.add(new Scenario("GET /users/{userId} If-None-Match", () -> {
+			long userId = seed.randomUserId();
+			String eTag = userETags.computeIfAbsent(userId, this::fetchUserETag);
+			return client.request("/users/" + userId).header("If-None-Match", eTag).GET().build();
+		}));
+		scenarios.add(new Scenario("GET /users/{userId}/playlists",
+				() -> client.get("/users/" + seed.randomUserId() + "/playlists")));
+		scenarios.add(new Scenario("GET /users/{userId}/changes",
+				() -> client.get("/users/" + seed.randomUserId() + "/changes?limit=100")));
+		scenarios.add(new Scenario("GET /users include=",
+				() -> client.get("/users?limit=50&include=")));
+		scenarios.add(new Scenario("GET /users/{userId} include=playlists",
+				() -> client.get("/users/" + seed.randomUserId() + "?include=playlists")));
+		scenarios.add(new Scenario("GET /users/{userId} fields=userName,playlists.playlistTitle",
+				() -> client.get("/users/" + seed.randomUserId() + "?fields=userName,playlists.playlistTitle")));
+		scenarios.add(new Scenario("GET /users/{userId}/playlists/{playlistId}/songs", () -> {
+			UserPlaylist playlist = seed.randomPlaylist();
+			return client.get("/users/" + playlist.userId() + "/playlists/" + playlist.playlistId() + "/songs");
+		}));
+		scenarios.add(new Scenario("GET /users/{userId}/playlists/{playlistId}/songs sort=title&limit=20",
+				() -> client.get(playlistPath(seed.randomPlaylist()) + "/songs?sort=title&limit=20")));
+		scenarios.add(new Scenario("GET /users/{userId}/playlists/{playlistId}/songs sort=added&limit=20",
+				() -> client.get(playlistPath(seed.randomPlaylist()) + "/songs?sort=added&limit=20")));
+		scenarios.add(new Scenario("GET /users/{userId}/playlists/{playlistId}/songs hot playlist",
+				() -> client.get(playlistPath(seed.playlists().get(0)) + "/songs")));
+		scenarios.add(new Scenario("GET /songs/search", () -> client.get("/songs/search?q=song%20"
+				+ ThreadLocalRandom.current().nextInt(seed.songIds().size()))));
+		scenarios.add(new Scenario("GET /songs/search/stats", () -> client.get("/songs/search/stats")));
+		scenarios.add(new Scenario("GET /songs/trending", () -> client.get("/songs/trending?window=1h&limit=50")));
+		scenarios.add(new Scenario("GET /songs/{songId}/related",
+				() -> client.get("/songs/" + seed.randomSongId() + "/related")));
+		scenarios.add(new Scenario("GET /songs/{songId}/plays", () -> client.get("/songs/" + seed.randomSongId() + "/plays")));
+		scenarios.add(new Scenario("GET /users/{userId}/playlists/{playlistId}/similar",
+				() -> client.get(playlistPath(seed.randomPlaylist()) + "/similar")));
+		scenarios.add(new Scenario("GET /users/{userId}/playlists/{playlistId}/plays",
+				() -> client.get(playlistPath(seed.randomPlaylist()) + "/plays")));
+		scenarios.add(new Scenario("GET /cache/stats", () -> client.get("/cache/stats")));
+		scenarios.add(new Scenario("GET /export/users", () -> client.get("/export/users")));
+		scenarios.add(new Scenario("GET /export/songs", () -> client.get("/export/songs")));
+		scenarios.add(new Scenario("GET /reactive/users", () -> client.get("/reactive/users")));
+		scenarios.add(new Scenario("GET /reactive/users/{userId}",
+				() -> client.get("/reactive/users/" + seed.randomUserId())));
+		scenarios.add(new Scenario("GET /reactive/users/{userId}/playlists",
+				() -> client.get("/reactive/users/" + seed.randomUserId() + "/playlists")));
+		scenarios.add(new Scenario("GET /reactive/users/{userId}/playlists/{playlistId}/songs",
+				() -> client.get("/reactive" + playlistPath(seed.randomPlaylist()) + "/songs")));
+		scenarios.add(new Scenario("POST /songs/{songId}/plays",
+				() -> client.postJson("/songs/" + seed.randomSongId() + "/plays", Map.of())));
+		scenarios.add(new Scenario("POST /users", () -> client.postJson("/users", newUser())));
+		scenarios.add(new Scenario("PUT /users/{userId}", () -> client.putJson(
+				"/users/" + seed.randomScratchPlaylist().userId(), newUser())));
+		scenarios.add(new Scenario("DELETE /users/{userId}", () -> client.delete(
+				"/users/" + client.sendForJson(client.postJson("/users", newUser())).get("userId").asLong())));
+		scenarios.add(new Scenario("DELETE /users/{userId} async=true", () -> {
+			long userId = client.sendForJson(client.postJson("/users", newUser())).get("userId").asLong();
+			client.send(client.postJson("/users/" + userId + "/playlists", newPlaylist(5)));
+			return client.delete("/users/" + userId + "?async=true");
+		}));
+		scenarios.add(new Scenario("POST /users/{userId}/playlists", () -> client.postJson(
+				"/users/" + seed.randomScratchPlaylist().userId() + "/playlists", newPlaylist(5))));
+		scenarios.add(new Scenario("PUT /users/{userId}/playlists/{playlistId}", () -> {
+			UserPlaylist playlist = seed.randomScratchPlaylist();
+			return client.putJson(playlistPath(playlist), newPlaylist(0));
+		}));
+		scenarios.add(new Scenario("DELETE /users/{userId}/playlists/{playlistId}", () -> {
+			long userId = seed.randomScratchPlaylist().userId();
+			long playlistId = client.sendForJson(client.postJson("/users/" + userId + "/playlists", newPlaylist(5)))
+					.get("playlistId").asLong();
+			return client.delete("/users/" + userId + "/playlists/" + playlistId);
+		}));
+		scenarios.add(new Scenario("DELETE /users/{userId}/playlists/{playlistId} async=true", () -> {
+			long userId = seed.randomScratchPlaylist().userId();
+			long playlistId = client.sendForJson(client.postJson("/users/" + userId + "/playlists", newPlaylist(5)))
+					.get("playlistId").asLong();
+			return client.delete("/users/" + userId + "/playlists/" + playlistId + "?async=true");
+		}));
+		scenarios.add(new Scenario("POST /users/{userId}/playlists/{playlistId}/songs", () -> client.postJson(
+				playlistPath(seed.randomScratchPlaylist()) + "/songs?songId=" + seed.randomSongId(), Map.of())));
+		scenarios.add(new Scenario("DELETE /users/{userId}/playlists/{playlistId}/songs/{songId}", () -> {
+			UserPlaylist playlist = seed.randomScratchPlaylist();
+			long songId = seed.randomSongId();
+			client.send(client.postJson(playlistPath(playlist) + "/songs?songId=" + songId, Map.of()));
+			return client.delete(playlistPath(playlist) + "/songs/" + songId);
+		}));
+		scenarios.add(new Scenario("POST /users/{userId}/playlists/{playlistId}/songs/batch", () -> client.postJson(
+				playlistPath(seed.randomScratchPlaylist()) + "/songs/batch",
+				Map.of("addSongIds", randomSongIds(PLAYLIST_BATCH_SIZE), "removeSongIds", randomSongIds(PLAYLIST_BATCH_SIZE)))));
+		scenarios.add(new Scenario("POST /users/{userId}/playlists/{playlistId}/songs/create", () -> client.postJson(
+				playlistPath(seed.randomScratchPlaylist()) + "/songs/create", newSong())));
+		scenarios.add(new Scenario("PUT /users/{userId}/playlists/{playlistId}/songs/{songId}", () -> {
+			UserPlaylist playlist = seed.randomScratchPlaylist();
+			return client.putJson(playlistPath(playlist) + "/songs/" + playlist.scratchSongId(), newSong());
+		}));
+		scenarios.add(new Scenario("POST /songs/import", () -> {
+			StringBuilder csv = new StringBuilder("songTitle,songAlbum,songDuration,songArtist\n");
+			for(int i = 0; i < IMPORT_BATCH_SIZE; i++) {
+				csv.append("imported-").append(runId).append('-').append(sequence.incrementAndGet())
+						.append(",loadtest-import,3:30,loadtest-import\n");
+			}
+			return client.postCsv("/songs/import", csv.toString());
+		}));
+		return scenarios;
+	}
+
+	private String fetchUserETag(long userId) {
+		try {
+			return client.send(client.get("/users/" + userId)).headers().firstValue("ETag").orElse("*");
+		} catch(Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private Map<String, Object> newUser() {
+		String userName = "loadtest-" + runId + "-" + sequence.incrementAndGet();
+		return Map.of("userName", userName, "userEmail", userName + "@example.com");
+	}
+
+	private Map<String, Object> newPlaylist(int songs) {
+		String title = "loadtest-" + runId + "-" + sequence.incrementAndGet();
+		return Map.of("playlistTitle", title, "imageUrl", "https://example.com/" + title + ".png",
+				"songs", randomSongIds(songs).stream().map(songId -> Map.of("songId", songId)).toList());
+	}
+
+	private Map<String, Object> newSong() {
+		return Map.of("songTitle", "loadtest-" + runId + "-" + sequence.incrementAndGet(),
+				"songAlbum", "loadtest", "songArtist", "loadtest",
+				"songDurationSeconds", 120 + ThreadLocalRandom.current().nextInt(300));
+	}
+
+	private List<Long> randomSongIds(int count) {
+		List<Long> songIds = new ArrayList<>(count);
+		for(int i = 0; i < count; i++) {
+			songIds.add(seed.randomSongId());
+		}
+		return songIds;
+	}
+
+	private static String playlistPath(UserPlaylist playlist) {
+		return "/users/" + playlist.userId() + "/playlists/" + playlist.playlistId();
+	}
+}
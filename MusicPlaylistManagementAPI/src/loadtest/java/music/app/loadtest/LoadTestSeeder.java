@@ -0,0 +1,133 @@
+package music.app.loadtest;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import music.app.loadtest.SeedData.UserPlaylist;
+
+public class LoadTestSeeder {
+
+	private final LoadTestConfig config;
+	private final LoadTestClient client;
+	private final ExecutorService executor;
+	private final Random random = new Random(42);
+
+	public LoadTestSeeder(LoadTestConfig config, LoadTestClient client, ExecutorService executor) {
+		this.config = config;
+		this.client = client;
+		this.executor = executor;
+	}
+
+	public SeedData seed() throws Exception {
+		List<Long> userIds = createUsers("loadtest-user-", config.users());
+		List<Long> scratchUserIds = createUsers("loadtest-scratch-user-", config.scratchUsers());
+		List<long[]> playlists = createPlaylists(userIds, config.playlistsPerUser());
+		List<long[]> scratchPlaylists = createPlaylists(scratchUserIds, 2);
+
+		Map<Integer, List<Long>> playlistIdsBySong = new HashMap<>();
+		int songsPerPlaylist = Math.min(config.songsPerPlaylist(), config.songs());
+		for(long[] playlist : playlists) {
+			Set<Integer> songIndexes = new LinkedHashSet<>();
+			while(songIndexes.size() < songsPerPlaylist) {
+				songIndexes.add((int) (config.songs() * Math.pow(random.nextDouble(), config.popularitySkew())));
+			}
+			songIndexes.forEach(songIndex -> playlistIdsBySong
+					.computeIfAbsent(songIndex, key -> new ArrayList<>())
+					.add(playlist[1]));
+		}
+		StringBuilder csv = new StringBuilder("songTitle,songAlbum,songDuration,songArtist,playlistIds\n");
+		for(int i = 0; i < config.songs(); i++) {
+			appendSong(csv, songTitle(i), "album-" + i / 12, "artist-" + i / 40,
+					playlistIdsBySong.getOrDefault(i, List.of()));
+		}
+		for(long[] playlist : scratchPlaylists) {
+			appendSong(csv, "loadtest-scratch-song-" + playlist[1], "scratch", "scratch", List.of(playlist[1]));
+		}
+		client.send(client.postCsv("/songs/import", csv.toString()));
+
+		Map<String, Long> songIdsByTitle = new HashMap<>();
+		HttpResponse<InputStream> export = client.sendForStream(client.get("/export/songs"));
+		try(BufferedReader reader = new BufferedReader(new InputStreamReader(export.body(), StandardCharsets.UTF_8))) {
+			String line;
+			while((line = reader.readLine()) != null) {
+				if(!line.isBlank()) {
+					JsonNode song = client.objectMapper().readTree(line);
+					songIdsByTitle.put(song.get("songTitle").asText(), song.get("songId").asLong());
+				}
+			}
+		}
+		List<Long> songIds = new ArrayList<>(config.songs());
+		for(int i = 0; i < config.songs(); i++) {
+			songIds.add(songIdsByTitle.get(songTitle(i)));
+		}
+		return new SeedData(
+				playlists.stream().map(p -> new UserPlaylist(p[0], p[1], 0)).toList(),
+				userIds,
+				songIds,
+				scratchPlaylists.stream().map(p -> new UserPlaylist(p[0], p[1],
+						songIdsByTitle.get("loadtest-scratch-song-" + p[1]))).toList());
+	}
+
+	private List<Long> createUsers(String namePrefix, int count) throws Exception {
+		List<Callable<Long>> tasks = new ArrayList<>(count);
+		for(int i = 0; i < count; i++) {
+			String userName = namePrefix + i;
+			tasks.add(() -> client.sendForJson(client.postJson("/users",
+					Map.of("userName", userName, "userEmail", userName + "@example.com"))).get("userId").asLong());
+		}
+		return invokeAll(tasks);
+	}
+
+	private List<long[]> createPlaylists(List<Long> userIds, int playlistsPerUser) throws Exception {
+		List<Callable<long[]>> tasks = new ArrayList<>(userIds.size() * playlistsPerUser);
+		for(long userId : userIds) {
+			for(int i = 0; i < playlistsPerUser; i++) {
+				String title = "playlist-" + userId + "-" + i;
+				tasks.add(() -> new long[] {userId, client.sendForJson(client.postJson(
+						"/users/" + userId + "/playlists", Map.of("playlistTitle", title,
+								"imageUrl", "https://example.com/" + title + ".png", "songs", List.of())))
+						.get("playlistId").asLong()});
+			}
+		}
+		return invokeAll(tasks);
+	}
+
+	private <T> List<T> invokeAll(List<Callable<T>> tasks) throws Exception {
+		List<T> results = new ArrayList<>(tasks.size());
+		for(Future<T> future : executor.invokeAll(tasks)) {
+			results.add(future.get());
+		}
+		return Collections.unmodifiableList(results);
+	}
+
+	private void appendSong(StringBuilder csv, String title, String album, String artist, List<Long> playlistIds) {
+		int seconds = 120 + random.nextInt(300);
+		csv.append(title).append(',').append(album).append(',')
+				.append(seconds / 60).append(':').append(String.format("%02d", seconds % 60)).append(',')
+				.append(artist).append(',');
+		for(int i = 0; i < playlistIds.size(); i++) {
+			csv.append(i > 0 ? ";" : "").append(playlistIds.get(i));
+		}
+		csv.append('\n');
+	}
+
+	static String songTitle(int index) {
+		return "loadtest-song-" + index;
+	}
+}
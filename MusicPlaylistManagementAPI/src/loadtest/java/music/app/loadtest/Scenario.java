@@ -0,0 +1,7 @@
+package music.app.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.concurrent.Callable;
+
+public record Scenario(String name, Callable<HttpRequest> nextRequest) {
+}
@@ -0,0 +1,32 @@
+package music.app.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+public record ScenarioResult(String name, long requests, long errors, double throughput,
+		double p50Millis, double p95Millis, double p99Millis, double maxMillis, int maxSqlStatements,
+		long sqlBudgetViolations, String firstError) {
+
+	public static ScenarioResult of(String name, long[] latencies, long errors, long elapsedNanos,
+			int maxSqlStatements, long sqlBudgetViolations, String firstError) {
+		long[] sorted = latencies.clone();
+		Arrays.sort(sorted);
+		double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+		return new ScenarioResult(name, sorted.length, errors, sorted.length / seconds,
+				percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+				sorted.length > 0 ? toMillis(sorted[sorted.length - 1]) : 0, maxSqlStatements, sqlBudgetViolations,
+				firstError);
+	}
+
+	private static double percentile(long[] sorted, double percentile) {
+		if(sorted.length == 0) {
+			return 0;
+		}
+		int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+		return toMillis(sorted[Math.max(rank, 1) - 1]);
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+}
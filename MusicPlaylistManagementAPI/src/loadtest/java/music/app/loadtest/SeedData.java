@@ -0,0 +1,27 @@
+package music.app.loadtest;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public record SeedData(List<UserPlaylist> playlists, List<Long> userIds, List<Long> songIds,
+		List<UserPlaylist> scratchPlaylists) {
+
+	public record UserPlaylist(long userId, long playlistId, long scratchSongId) {
+	}
+
+	public UserPlaylist randomPlaylist() {
+		return playlists.get(ThreadLocalRandom.current().nextInt(playlists.size()));
+	}
+
+	public UserPlaylist randomScratchPlaylist() {
+		return scratchPlaylists.get(ThreadLocalRandom.current().nextInt(scratchPlaylists.size()));
+	}
+
+	public long randomUserId() {
+		return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+	}
+
+	public long randomSongId() {
+		return songIds.get(ThreadLocalRandom.current().nextInt(songIds.size()));
+	}
+}
@@ -0,0 +1,73 @@
+package music.app.loadtest;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Simulates a slow database for load tests by delaying every statement execution by
+ * {@code loadtest.db-latency-ms} while its connection is held, the way a remote database under load
+ * would.
+ */
+@Component
+@Profile("loadtest")
+public class SlowDatabasePostProcessor implements BeanPostProcessor {
+
+	public static final String LATENCY_PROPERTY = "loadtest.db-latency-ms";
+
+	@Value("${" + LATENCY_PROPERTY + ":0}")
+	private long latencyMillis;
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if(latencyMillis > 0 && bean instanceof DataSource dataSource) {
+			return proxy(DataSource.class, dataSource);
+		}
+		return bean;
+	}
+
+	private <T> T proxy(Class<T> type, Object target) {
+		InvocationHandler handler = (proxy, method, args) -> {
+			String name = method.getName();
+			if(name.equals("unwrap") || name.equals("isWrapperFor")) {
+				return method.invoke(target, args);
+			}
+			if(target instanceof Statement && name.startsWith("execute")) {
+				Thread.sleep(latencyMillis);
+			}
+			Object result;
+			try {
+				result = method.invoke(target, args);
+			} catch(InvocationTargetException e) {
+				throw e.getCause();
+			}
+			if(result instanceof Connection connection) {
+				return proxy(Connection.class, connection);
+			}
+			if(result instanceof Statement statement) {
+				return proxy(statementType(statement), statement);
+			}
+			return result;
+		};
+		return type.cast(Proxy.newProxyInstance(SlowDatabasePostProcessor.class.getClassLoader(),
+				new Class<?>[] {type}, handler));
+	}
+
+	private static Class<? extends Statement> statementType(Statement statement) {
+		if(statement instanceof CallableStatement) {
+			return CallableStatement.class;
+		}
+		return statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+	}
+}
@@ -1,34 +1,85 @@
 package music.app.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import lombok.extern.slf4j.Slf4j;
+import music.app.controller.model.CacheStatsDto;
+import music.app.controller.model.FieldSelection;
+import music.app.controller.model.LibraryChangesDto;
+import music.app.controller.model.PageCursor;
 import music.app.controller.model.PlaylistDto;
+import music.app.controller.model.PlaylistPlayCountDto;
+import music.app.controller.model.PlaylistSongBatchDto;
+import music.app.controller.model.RelatedSongDto;
+import music.app.controller.model.SimilarPlaylistDto;
 import music.app.controller.model.SongDto;
+import music.app.controller.model.SongImportDto;
+import music.app.controller.model.SongImportResultDto;
+import music.app.controller.model.SongPageCursor;
+import music.app.controller.model.SongPageDto;
+import music.app.controller.model.SongPlayCountDto;
+import music.app.controller.model.SongSearchHitDto;
+import music.app.controller.model.SongSearchStatsDto;
+import music.app.controller.model.TrendingSongDto;
 import music.app.controller.model.UserDto;
+import music.app.controller.model.UserPageDto;
+import music.app.controller.model.mapper.SongCsvReader;
 import music.app.controller.model.mapper.UserMapper;
+import music.app.dao.PlaylistSongPageVersion;
+import music.app.dao.PlaylistSongSort;
+import music.app.dao.UserView;
 import music.app.entity.Playlist;
 import music.app.entity.Song;
 import music.app.entity.User;
+import music.app.monitor.SqlBudget;
+import music.app.service.CacheService;
+import music.app.service.CoalescingReadService;
 import music.app.service.MusicAppService;
+import music.app.service.PlayCountService;
+import music.app.service.RelatedSongService;
+import music.app.service.SimilarPlaylistService;
+import music.app.service.SongImportService;
+import music.app.service.SongSearchService;
+import music.app.service.TrendingSongService;
+import music.app.service.UserViewService;
 
 @RestController
 @RequestMapping("/app")
@@ -37,23 +88,192 @@ public class MusicAppController {
 
 	@Autowired
 	private MusicAppService musicAppService;
+	@Value("${music.app.users.page-size:50}")
+	private int userPageSize;
+	@Value("${music.app.users.max-page-size:500}")
+	private int maxUserPageSize;
+	@Value("${music.app.changes.page-size:500}")
+	private int changePageSize;
+	@Value("${music.app.changes.max-page-size:5000}")
+	private int maxChangePageSize;
+	@Value("${music.app.playlists.max-song-batch-size:1000}")
+	private int maxSongBatchSize;
+	@Value("${music.app.playlists.songs-page-size:100}")
+	private int songPageSize;
+	@Value("${music.app.playlists.max-songs-page-size:1000}")
+	private int maxSongPageSize;
+	@Autowired
+	private SongImportService songImportService;
+	@Autowired
+	private CacheService cacheService;
+	@Autowired
+	private SongSearchService songSearchService;
+	@Autowired
+	private PlayCountService playCountService;
+	@Autowired
+	private TrendingSongService trendingSongService;
+	@Autowired
+	private RelatedSongService relatedSongService;
+	@Autowired
+	private SimilarPlaylistService similarPlaylistService;
+	@Autowired
+	private CoalescingReadService coalescingReadService;
+	@Autowired
+	private UserViewService userViewService;
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private static final int NDJSON_FLUSH_INTERVAL = 500;
+	private static final int DEFAULT_SEARCH_LIMIT = 20;
+	private static final int MAX_SEARCH_LIMIT = 100;
+	private static final int DEFAULT_TRENDING_LIMIT = 50;
+	private static final int DEFAULT_RELATED_LIMIT = 10;
+	private static final int DEFAULT_SIMILAR_LIMIT = 10;
+	private static final int MAX_SIMILAR_LIMIT = 100;
 
 	@GetMapping("/users")
 	@ResponseStatus(code = HttpStatus.OK)
-	public List<UserDto> listAllUsers() {
-		log.info("Getting all users.");
-		return musicAppService.findAllUsersWithPlaylistsAndSongs();
+	@SqlBudget(statements = 3)
+	public Object listAllUsers(
+			@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer limit,
+			@RequestParam(required = false) String include,
+			@RequestParam(required = false) String fields) {
+		int pageSize = limit != null ? Math.min(Math.max(limit, 1), maxUserPageSize) : userPageSize;
+		FieldSelection selection = FieldSelection.parse(include, fields, UserDto.class, objectMapper);
+		log.info("Getting users after cursor={} with limit={}.", cursor, pageSize);
+		UserPageDto page = musicAppService.findUsersPage(PageCursor.decode(cursor), pageSize,
+				selection.includes("playlists"), selection.includes("playlists.songs"));
+		if(selection.isFullGraph()) {
+			return page;
+		}
+		ObjectNode body = objectMapper.valueToTree(page);
+		body.set("users", selection.toTree(page.getUsers()));
+		return body;
 	}
 
-	@GetMapping("/users/{userId}")
+	@GetMapping("/export/users")
+	public ResponseEntity<StreamingResponseBody> exportUsers() {
+		log.info("Exporting all users.");
+		StreamingResponseBody body = out -> writeNdjson(out, musicAppService::exportUsers);
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
+	@GetMapping("/export/songs")
+	public ResponseEntity<StreamingResponseBody> exportSongs() {
+		log.info("Exporting all songs.");
+		StreamingResponseBody body = out -> writeNdjson(out, musicAppService::exportSongs);
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
+	@PostMapping(value = "/songs/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseStatus(code = HttpStatus.OK)
+	public SongImportResultDto importSongsFromJson(InputStream body) throws IOException {
+		log.info("Importing songs from JSON.");
+		try(MappingIterator<SongImportDto> rows = objectMapper.readerFor(SongImportDto.class).readValues(body)) {
+			return logImportResult(songImportService.importSongs(rows));
+		}
+	}
+
+	@PostMapping(value = "/songs/import", consumes = "text/csv")
+	@ResponseStatus(code = HttpStatus.OK)
+	public SongImportResultDto importSongsFromCsv(InputStream body) throws IOException {
+		log.info("Importing songs from CSV.");
+		try(SongCsvReader rows = new SongCsvReader(body)) {
+			return logImportResult(songImportService.importSongs(rows));
+		}
+	}
+
+	@GetMapping("/songs/search")
+	@ResponseStatus(code = HttpStatus.OK)
+	@SqlBudget(statements = 0)
+	public List<SongSearchHitDto> searchSongs(
+			@RequestParam String q, @RequestParam(required = false) Integer limit) {
+		int hitLimit = limit != null ? Math.min(Math.max(limit, 1), MAX_SEARCH_LIMIT) : DEFAULT_SEARCH_LIMIT;
+		log.info("Searching songs for \"{}\" with limit={}.", q, hitLimit);
+		return songSearchService.search(q, hitLimit);
+	}
+
+	@GetMapping("/songs/trending")
+	@ResponseStatus(code = HttpStatus.OK)
+	@SqlBudget(statements = 0)
+	public List<TrendingSongDto> listTrendingSongs(
+			@RequestParam(defaultValue = "1h") String window, @RequestParam(required = false) Integer limit) {
+		int chartLimit = limit != null ? Math.min(Math.max(limit, 1), TrendingSongService.MAX_CHART_SIZE)
+				: DEFAULT_TRENDING_LIMIT;
+		log.info("Listing trending songs for window={} with limit={}.", window, chartLimit);
+		return trendingSongService.getTrendingSongs(window, chartLimit);
+	}
+
+	@GetMapping("/songs/{songId}/related")
 	@ResponseStatus(code = HttpStatus.OK)
-	public UserDto getUser(@PathVariable Long userId) {
+	@SqlBudget(statements = 0)
+	public List<RelatedSongDto> listRelatedSongs(
+			@PathVariable Long songId, @RequestParam(required = false) Integer limit) {
+		int relatedLimit = Math.min(Math.max(limit != null ? limit : DEFAULT_RELATED_LIMIT, 1),
+				relatedSongService.getNeighborsPerSong());
+		log.info("Listing songs related to song with ID={} with limit={}.", songId, relatedLimit);
+		return relatedSongService.getRelatedSongs(songId, relatedLimit);
+	}
+
+	@PostMapping("/songs/{songId}/plays")
+	@ResponseStatus(code = HttpStatus.ACCEPTED)
+	@SqlBudget(statements = 0)
+	public void recordSongPlay(@PathVariable Long songId) {
+		playCountService.recordPlay(songId);
+	}
+
+	@GetMapping("/songs/{songId}/plays")
+	@ResponseStatus(code = HttpStatus.OK)
+	@SqlBudget(statements = 1)
+	public SongPlayCountDto getSongPlayCount(@PathVariable Long songId) {
+		log.info("Getting play count of song with ID={}", songId);
+		return playCountService.getSongPlayCount(songId);
+	}
+
+	@GetMapping("/songs/search/stats")
+	@ResponseStatus(code = HttpStatus.OK)
+	public SongSearchStatsDto getSongSearchStatistics() {
+		log.info("Getting song search index statistics.");
+		return songSearchService.getStatistics();
+	}
+
+	@GetMapping("/cache/stats")
+	@ResponseStatus(code = HttpStatus.OK)
+	public CacheStatsDto getCacheStatistics() {
+		log.info("Getting cache statistics.");
+		return cacheService.getStatistics();
+	}
+
+	@GetMapping("/users/{userId}")
+	@SqlBudget(statements = 3)
+	public ResponseEntity<Object> getUser(@PathVariable Long userId,
+			@RequestParam(required = false) String include,
+			@RequestParam(required = false) String fields,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+		FieldSelection selection = FieldSelection.parse(include, fields, UserDto.class, objectMapper);
+		long version = musicAppService.findUserVersion(userId);
+		String eTag = "\"user-" + userId + "-" + version
+				+ (selection.isFullGraph() ? "" : "-" + Integer.toHexString(selection.describe().hashCode())) + "\"";
+		if(eTagMatches(ifNoneMatch, eTag)) {
+			log.info("User with ID={} not modified.", userId);
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+		}
 		log.info("Getting user with ID={}", userId);
-		return musicAppService.findUserWithPlaylistsAndSongsByUserId(userId);
+		if(selection.isFullGraph()) {
+			Optional<UserView> view = userViewService.findCurrentView(userId, version);
+			if(view.isPresent()) {
+				return viewResponse(view.get(), eTag, acceptEncoding);
+			}
+		}
+		return ResponseEntity.ok().eTag(eTag).body(selection.apply(musicAppService.findUser(
+				userId, selection.includes("playlists"), selection.includes("playlists.songs"))));
 	}
 
 	@PostMapping("/users")
 	@ResponseStatus(code = HttpStatus.CREATED)
+	@SqlBudget(statements = 4)
 	public UserDto createUser(@RequestBody UserDto userDto) {
 		log.info("Creating user {}", userDto);
 		User savedUser = musicAppService.saveUser(UserMapper.convertToEntity(userDto));
@@ -62,6 +282,7 @@ public class MusicAppController {
 
 	@PutMapping("/users/{userId}")
 	@ResponseStatus(code = HttpStatus.OK)
+	@SqlBudget(statements = 5)
 	public UserDto updateUser(@PathVariable Long userId, @RequestBody UserDto userDto) {
 		User userEnetityToUpdate = UserMapper.convertToEntity(userDto);
 		log.info("Updating user with ID={}", userId);
@@ -70,29 +291,53 @@ public class MusicAppController {
 	}
 
 	@DeleteMapping("/users/{userId}")
-	@ResponseStatus(code = HttpStatus.NO_CONTENT)
-	public void deleteUser(@PathVariable Long userId) {
+	@SqlBudget(statements = 8)
+	public ResponseEntity<Void> deleteUser(@PathVariable Long userId,
+			@RequestParam(defaultValue = "false") boolean async) {
+		if(async) {
+			log.info("Deleting user with ID={} in the background", userId);
+			musicAppService.deleteUserByIdAsync(userId);
+			return ResponseEntity.accepted().build();
+		}
 		log.info("Deleting user with ID={}", userId);
 		musicAppService.deleteUserById(userId);
+		return ResponseEntity.noContent().build();
+	}
+
+	@GetMapping("/users/{userId}/changes")
+	@ResponseStatus(code = HttpStatus.OK)
+	@SqlBudget(statements = 4)
+	public LibraryChangesDto listChangesOfUser(@PathVariable Long userId,
+			@RequestParam(required = false) String since,
+			@RequestParam(required = false) Integer limit) {
+		int pageSize = limit != null ? Math.min(Math.max(limit, 1), maxChangePageSize) : changePageSize;
+		log.info("Getting changes of user with ID={} since token={} with limit={}.", userId, since, pageSize);
+		return musicAppService.findUserChanges(userId, PageCursor.decode(since), pageSize);
 	}
 
 	@GetMapping("/users/{userId}/playlists")
 	@ResponseStatus(code = HttpStatus.OK)
-	public List<PlaylistDto> listAllPlaylistsOfUser(@PathVariable Long userId) {
-		User user = musicAppService.findUserEntityWithPlaylists(userId);
+	@SqlBudget(statements = 2)
+	public Object listAllPlaylistsOfUser(@PathVariable Long userId,
+			@RequestParam(required = false) String include,
+			@RequestParam(required = false) String fields) {
+		FieldSelection selection = FieldSelection.parse(include, fields, PlaylistDto.class, objectMapper);
+		boolean includeSongs = selection.includes("songs");
+		User user = musicAppService.findUserEntityWithPlaylists(userId, includeSongs);
 		log.info("Getting playlists of user with ID=" + userId + ".");
 		Set<Long> seenPlaylists = new HashSet<>();
-		return user
+		return selection.apply(user
 				.getPlaylists()
 				.stream()
 				.filter(p -> p.getPlaylistId() != null && seenPlaylists.add(p.getPlaylistId()))
 				.sorted(Comparator.comparing(Playlist::getPlaylistId))
-				.map(playlist -> new PlaylistDto(playlist, true))
-				.collect(Collectors.toList());
+				.map(playlist -> new PlaylistDto(playlist, includeSongs))
+				.collect(Collectors.toList()));
 	}
 
 	@PostMapping("/users/{userId}/playlists")
 	@ResponseStatus(code = HttpStatus.CREATED)
+	@SqlBudget(statements = 14)
 	public PlaylistDto createPlaylistForUser(
 			@PathVariable Long userId, @RequestBody PlaylistDto playlistDto) {
 		User user = musicAppService.findUserEntityWithPlaylists(userId);
@@ -105,14 +350,15 @@ public class MusicAppController {
 				!= null || playlistDto.getImageUrl().isBlank() ? playlistDto.getImageUrl()
 				:"https://tinyurl.com/defaultplaylistimage");
 		playlist.setUser(user);
-		for(SongDto songDto : playlistDto.getSongs()) {
-			if(songDto.getSongId() != null) {
-				Song song = musicAppService.findSongById(songDto.getSongId())
-						.orElseThrow(() -> new NoSuchElementException(
-								"Song with ID=" + songDto.getSongId() + " does not exist."));
-				playlist.getSongs().add(song);
-				song.getPlaylists().add(playlist);
-			}
+		List<Long> songIds = playlistDto.getSongs()
+				.stream()
+				.map(SongDto::getSongId)
+				.filter(Objects::nonNull)
+				.distinct()
+				.collect(Collectors.toList());
+		for(Song song : musicAppService.findSongsByIds(songIds)) {
+			playlist.getSongs().add(song);
+			song.getPlaylists().add(playlist);
 		}
 		Playlist savedPlaylist = musicAppService.savePlaylist(playlist);
 		log.info("Creating playlist {}", playlist);
@@ -121,11 +367,12 @@ public class MusicAppController {
 
 	@PutMapping("/users/{userId}/playlists/{playlistId}")
 	@ResponseStatus(code = HttpStatus.OK)
+	@SqlBudget(statements = 10)
 	public PlaylistDto updatePlaylistOfUser(
 			@PathVariable Long userId,
 			@PathVariable Long playlistId,
 			@RequestBody PlaylistDto playlistDto) {
-		Playlist existingPlaylist = verifyUserPlaylist(userId, playlistId);
+		Playlist existingPlaylist = findUserPlaylist(userId, playlistId);
 		existingPlaylist.setPlaylistTitle(playlistDto.getPlaylistTitle());
 		existingPlaylist.setImageUrl(playlistDto.getImageUrl() 
 				!= null || playlistDto.getImageUrl().isBlank() ? playlistDto.getImageUrl()
@@ -136,63 +383,113 @@ public class MusicAppController {
 	}
 
 	@DeleteMapping("/users/{userId}/playlists/{playlistId}")
-	@ResponseStatus(code = HttpStatus.NO_CONTENT)
-	public void deletePlaylistOfUser(@PathVariable Long userId, @PathVariable Long playlistId) {
+	@SqlBudget(statements = 8)
+	public ResponseEntity<Void> deletePlaylistOfUser(@PathVariable Long userId, @PathVariable Long playlistId,
+			@RequestParam(defaultValue = "false") boolean async) {
 		verifyUserPlaylist(userId, playlistId);
+		if(async) {
+			log.info("Deleting playlist with ID=" + playlistId + " of user with ID=" + userId + " in the background.");
+			musicAppService.deletePlaylistByIdAsync(playlistId);
+			return ResponseEntity.accepted().build();
+		}
 		log.info("Deleting playlist with ID=" + playlistId + " of user with ID=" + userId + ".");
 		musicAppService.deletePlaylistById(playlistId);
+		return ResponseEntity.noContent().build();
 	}
 
 	@GetMapping("/users/{userId}/playlists/{playlistId}/songs")
+	@SqlBudget(statements = 4)
+	public ResponseEntity<SongPageDto> listAllSongsOfPlaylist(@PathVariable Long userId, @PathVariable Long playlistId,
+			@RequestParam(defaultValue = "artist") String sort,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer limit,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		PlaylistSongSort songSort = PlaylistSongSort.parse(sort);
+		SongPageCursor pageCursor = SongPageCursor.decode(cursor);
+		int pageSize = limit != null ? Math.min(Math.max(limit, 1), maxSongPageSize) : songPageSize;
+		PlaylistSongPageVersion version = coalescingReadService.getPlaylistSongsVersion(
+				playlistId, songSort, pageCursor, pageSize);
+		if(!userId.equals(version.ownerId())) {
+			verifyUserPlaylist(userId, playlistId);
+		}
+		String eTag = "\"playlist-" + playlistId + "-" + version.version()
+				+ "-" + songSort.getName() + "-" + pageSize + (pageCursor != null ? "-" + pageCursor.encode() : "") + "\"";
+		if(eTagMatches(ifNoneMatch, eTag)) {
+			log.info("Songs of playlist with ID={} not modified.", playlistId);
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+		}
+		log.info("Getting songs of playlist with ID={} sorted by {} after cursor={} with limit={}.",
+				playlistId, songSort.getName(), cursor, pageSize);
+		return ResponseEntity.ok().eTag(eTag).body(
+				coalescingReadService.getPlaylistSongsPage(playlistId, songSort, pageCursor, pageSize));
+	}
+
+	@GetMapping("/users/{userId}/playlists/{playlistId}/similar")
 	@ResponseStatus(code = HttpStatus.OK)
-	public List<SongDto> listAllSongsOfPlaylist(@PathVariable Long userId, @PathVariable Long playlistId) {
-		Playlist selectedPlaylist = verifyUserPlaylist(userId, playlistId);
-		log.info("Getting songs of playlist with ID={}", playlistId);
-		return selectedPlaylist
-				.getSongs()
-				.stream()
-				.sorted(Comparator.comparing(Song::getSongArtist))
-				.map(song -> new SongDto(song, true))
-				.collect(Collectors.toList());
+	@SqlBudget(statements = 2)
+	public List<SimilarPlaylistDto> listSimilarPlaylists(@PathVariable Long userId, @PathVariable Long playlistId,
+			@RequestParam(required = false) Integer limit) {
+		verifyUserPlaylist(userId, playlistId);
+		int similarLimit = limit != null ? Math.min(Math.max(limit, 1), MAX_SIMILAR_LIMIT) : DEFAULT_SIMILAR_LIMIT;
+		log.info("Listing playlists similar to playlist with ID={} with limit={}.", playlistId, similarLimit);
+		return similarPlaylistService.getSimilarPlaylists(playlistId, similarLimit);
+	}
+
+	@GetMapping("/users/{userId}/playlists/{playlistId}/plays")
+	@ResponseStatus(code = HttpStatus.OK)
+	@SqlBudget(statements = 2)
+	public PlaylistPlayCountDto getPlaylistPlayCount(@PathVariable Long userId, @PathVariable Long playlistId) {
+		verifyUserPlaylist(userId, playlistId);
+		log.info("Getting play count of playlist with ID={}", playlistId);
+		return playCountService.getPlaylistPlayCount(playlistId);
 	}
 
 	@PostMapping("/users/{userId}/playlists/{playlistId}/songs/create")
 	@ResponseStatus(code = HttpStatus.CREATED)
+	@SqlBudget(statements = 15)
 	public PlaylistDto createAndAddSongToPlaylistOfUser(
 			@PathVariable Long userId, @PathVariable Long playlistId, @RequestBody SongDto songDto) {
-		Playlist selectedPlaylist = verifyUserPlaylist(userId, playlistId);
+		verifyUserPlaylist(userId, playlistId);
 		Song newSong = songDto.convertToEntity();
 		Song savedSong = musicAppService.saveSong(newSong);
-		selectedPlaylist.getSongs().add(savedSong);
-		savedSong.getPlaylists().add(selectedPlaylist);
-		Playlist savedPlaylist = musicAppService.savePlaylist(selectedPlaylist);
 		log.info("Creating song {} in playlist with ID={}", savedSong.getSongTitle(), playlistId);
-		return new PlaylistDto(savedPlaylist, true);
+		return musicAppService.addSong(playlistId, savedSong.getSongId());
 	}
 
 	@PostMapping("/users/{userId}/playlists/{playlistId}/songs")
 	@ResponseStatus(code = HttpStatus.CREATED)
+	@SqlBudget(statements = 12)
 	public PlaylistDto addExistingSongToPlaylistOfUser(
 			@PathVariable Long userId, @PathVariable Long playlistId, @RequestParam Long songId) {
 		verifyUserPlaylist(userId, playlistId);
 		log.info("Adding song with ID={} into playlist with ID={}", songId, playlistId);
-		Playlist updatedPlaylist = musicAppService.addSong(playlistId, songId);
-		return new PlaylistDto(updatedPlaylist, true);
+		return musicAppService.addSong(playlistId, songId);
+	}
+
+	@PostMapping("/users/{userId}/playlists/{playlistId}/songs/batch")
+	@ResponseStatus(code = HttpStatus.OK)
+	@SqlBudget(statements = 14)
+	public PlaylistDto updateSongsOfPlaylistOfUser(
+			@PathVariable Long userId, @PathVariable Long playlistId, @RequestBody PlaylistSongBatchDto batchDto) {
+		verifyUserPlaylist(userId, playlistId);
+		if(batchDto.getAddSongIds().size() + batchDto.getRemoveSongIds().size() > maxSongBatchSize) {
+			throw new IllegalArgumentException(
+					"A batch may add or remove at most " + maxSongBatchSize + " songs.");
+		}
+		log.info("Adding {} and removing {} songs in playlist with ID={}",
+				batchDto.getAddSongIds().size(), batchDto.getRemoveSongIds().size(), playlistId);
+		return musicAppService.updatePlaylistSongs(
+				playlistId, batchDto.getAddSongIds(), batchDto.getRemoveSongIds());
 	}
 
 	@PutMapping("/users/{userId}/playlists/{playlistId}/songs/{songId}")
 	@ResponseStatus(code = HttpStatus.OK)
+	@SqlBudget(statements = 12)
 	public SongDto updateSongFromPlaylistOfUser(
 			@PathVariable Long userId, @PathVariable Long playlistId,
 			@PathVariable Long songId, @RequestBody SongDto songDto) {
-		Playlist playlist = verifyUserPlaylist(userId, playlistId);
-		Song songToUpdate = musicAppService.findSongById(songId)
-				.orElseThrow(() -> new NoSuchElementException(
-						"Song with ID=" + songId + " does not exist."));
-		if(!playlist.getSongs().contains(songToUpdate)) {
-			throw new NoSuchElementException(
-					"Song with ID=" + songId + " is not in playlist with ID=" + playlistId + ".");
-		}
+		verifyUserPlaylist(userId, playlistId);
+		musicAppService.verifySongInPlaylist(playlistId, songId);
 		Song songUpdateToEntity = songDto.convertToEntity();
 		Song updatedSong = musicAppService.updateSong(songId, songUpdateToEntity);
 		log.info("Updating song from playlist with ID=" + playlistId + ".");
@@ -201,6 +498,7 @@ public class MusicAppController {
 
 	@DeleteMapping("/users/{userId}/playlists/{playlistId}/songs/{songId}")
 	@ResponseStatus(code = HttpStatus.OK)
+	@SqlBudget(statements = 12)
 	public PlaylistDto deleteSongFromPlaylistOfUser(
 			@PathVariable Long userId, @PathVariable Long playlistId, @PathVariable Long songId) {
 		verifyUserPlaylist(userId, playlistId);
@@ -209,16 +507,69 @@ public class MusicAppController {
 		return updatedPlaylistDto;
 	}
 
-	private Playlist verifyUserPlaylist(Long userId, Long playlistId) {
-		User user = musicAppService.findUserEntityWithPlaylists(userId);
-		Playlist playlist = musicAppService.findPlaylistById(playlistId)
+	private SongImportResultDto logImportResult(SongImportResultDto result) {
+		log.info("Imported {} rows ({} new songs, {} playlist links) in {} ms at {} rows/s.",
+				result.getRowsRead(), result.getSongsInserted(), result.getPlaylistSongsAdded(),
+				result.getElapsedMillis(), String.format("%.1f", result.getRowsPerSecond()));
+		return result;
+	}
+
+	private <T> void writeNdjson(OutputStream out, Consumer<Consumer<T>> exporter) throws IOException {
+		ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		try(JsonGenerator generator = objectMapper.createGenerator(out)) {
+			generator.setRootValueSeparator(null);
+			int[] written = {0};
+			exporter.accept(value -> {
+				try {
+					writer.writeValue(generator, value);
+					generator.writeRaw('\n');
+					if(++written[0] % NDJSON_FLUSH_INTERVAL == 1) {
+						generator.flush();
+					}
+				} catch(IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		}
+	}
+
+	private ResponseEntity<Object> viewResponse(UserView view, String eTag, String acceptEncoding) {
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+				.eTag(eTag)
+				.contentType(MediaType.APPLICATION_JSON)
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		if(UserViewService.GZIP.equals(view.contentEncoding())
+				&& acceptEncoding != null && acceptEncoding.contains(UserViewService.GZIP)) {
+			return response.header(HttpHeaders.CONTENT_ENCODING, UserViewService.GZIP).body(view.body());
+		}
+		return response.body(userViewService.decode(view));
+	}
+
+	private boolean eTagMatches(String ifNoneMatch, String eTag) {
+		if(ifNoneMatch == null) {
+			return false;
+		}
+		for(String candidate : ifNoneMatch.split(",")) {
+			String value = candidate.trim();
+			if(value.startsWith("W/")) {
+				value = value.substring(2);
+			}
+			if(value.equals("*") || value.equals(eTag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void verifyUserPlaylist(Long userId, Long playlistId) {
+		musicAppService.verifyPlaylistOwner(userId, playlistId);
+	}
+
+	private Playlist findUserPlaylist(Long userId, Long playlistId) {
+		verifyUserPlaylist(userId, playlistId);
+		return musicAppService.findPlaylistById(playlistId)
 				.orElseThrow(() -> new NoSuchElementException(
 						"Playlist with ID=" + playlistId + " does not exist."));
-		if(!playlist.getUser().getUserId().equals(user.getUserId())) {
-			throw new NoSuchElementException(
-					"Playlist with ID=" + playlistId + " does not belong to user with ID=" + userId + ".");
-		}
-		return playlist;
 	}
 
 }
@@ -0,0 +1,67 @@
+package music.app.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.extern.slf4j.Slf4j;
+import music.app.controller.model.PlaylistDto;
+import music.app.controller.model.SongDto;
+import music.app.controller.model.UserDto;
+import music.app.monitor.SqlBudget;
+import music.app.service.ReactiveMusicAppService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive variants of the read endpoints under {@code /app/reactive}, read over R2DBC so no JDBC
+ * connection is held while a request runs. Collections are written as newline-delimited JSON one
+ * element at a time and the next element is requested only after the previous one was written.
+ * This runs on Spring MVC, so each write blocks the thread performing it until the container
+ * accepts the bytes; a slow client still holds a thread while an element is written.
+ */
+@RestController
+@RequestMapping("/app/reactive")
+@Slf4j
+public class ReactiveMusicAppController {
+
+	@Autowired
+	private ReactiveMusicAppService reactiveMusicAppService;
+
+	@GetMapping(value = "/users", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@ResponseStatus(code = HttpStatus.OK)
+	@SqlBudget(statements = 0)
+	public Flux<UserDto> streamAllUsers() {
+		log.info("Streaming all users.");
+		return reactiveMusicAppService.streamUsers();
+	}
+
+	@GetMapping("/users/{userId}")
+	@ResponseStatus(code = HttpStatus.OK)
+	@SqlBudget(statements = 0)
+	public Mono<UserDto> getUser(@PathVariable Long userId) {
+		log.info("Getting user with ID={}", userId);
+		return reactiveMusicAppService.findUserWithPlaylistsAndSongsByUserId(userId);
+	}
+
+	@GetMapping(value = "/users/{userId}/playlists", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@ResponseStatus(code = HttpStatus.OK)
+	@SqlBudget(statements = 0)
+	public Flux<PlaylistDto> streamPlaylistsOfUser(@PathVariable Long userId) {
+		log.info("Streaming playlists of user with ID={}", userId);
+		return reactiveMusicAppService.streamPlaylistsOfUser(userId);
+	}
+
+	@GetMapping(value = "/users/{userId}/playlists/{playlistId}/songs", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@ResponseStatus(code = HttpStatus.OK)
+	@SqlBudget(statements = 0)
+	public Flux<SongDto> streamSongsOfPlaylist(@PathVariable Long userId, @PathVariable Long playlistId) {
+		log.info("Streaming songs of playlist with ID={}", playlistId);
+		return reactiveMusicAppService.streamSongsOfPlaylist(userId, playlistId);
+	}
+}
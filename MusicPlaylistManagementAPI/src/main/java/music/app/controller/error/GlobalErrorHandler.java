@@ -4,8 +4,10 @@ import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.NoSuchElementException;
 
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -65,6 +67,14 @@ public class GlobalErrorHandler {
 				ex, HttpStatus.BAD_REQUEST, webRequest, LogStatus.MESSAGE_ONLY);
 	}
 
+	@ExceptionHandler(IllegalArgumentException.class)
+	@ResponseStatus(code = HttpStatus.BAD_REQUEST)
+	public ExceptionMessage handleIllegalArgumentException(
+			IllegalArgumentException ex, WebRequest webRequest) {
+		return buildExceptionMessage(
+				ex, HttpStatus.BAD_REQUEST, webRequest, LogStatus.MESSAGE_ONLY);
+	}
+
 	@ExceptionHandler(UnsupportedOperationException.class)
 	@ResponseStatus(code = HttpStatus.METHOD_NOT_ALLOWED)
 	public ExceptionMessage handleUnsupportedOperationException(
@@ -89,6 +99,14 @@ public class GlobalErrorHandler {
 				ex, HttpStatus.CONFLICT, webRequest, LogStatus.MESSAGE_ONLY);
 	}
 
+	@ExceptionHandler({DataAccessResourceFailureException.class, CannotCreateTransactionException.class})
+	@ResponseStatus(code = HttpStatus.SERVICE_UNAVAILABLE)
+	public ExceptionMessage handleDatabaseUnavailableException(
+			Exception ex, WebRequest webRequest) {
+		return buildExceptionMessage(
+				ex, HttpStatus.SERVICE_UNAVAILABLE, webRequest, LogStatus.MESSAGE_ONLY);
+	}
+
 	@ExceptionHandler(Exception.class)
 	@ResponseStatus(code = HttpStatus.INTERNAL_SERVER_ERROR)
 	public ExceptionMessage handleException(
@@ -0,0 +1,17 @@
+package music.app.controller.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatsDto {
+
+	private String regionName;
+	private long hitCount;
+	private long missCount;
+	private long putCount;
+
+}
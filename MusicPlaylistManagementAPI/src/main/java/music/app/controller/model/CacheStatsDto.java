@@ -0,0 +1,21 @@
+package music.app.controller.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class CacheStatsDto {
+
+	private long secondLevelCacheHitCount;
+	private long secondLevelCacheMissCount;
+	private long secondLevelCachePutCount;
+	private long queryCacheHitCount;
+	private long queryCacheMissCount;
+	private long queryCachePutCount;
+	private List<CacheRegionStatsDto> regions = new ArrayList<>();
+
+}
@@ -0,0 +1,229 @@
+package music.app.controller.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.BeanUtils;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Response shape requested with the {@code include} and {@code fields} query parameters. Unknown
+ * names are rejected with a 400; without either parameter the full graph is returned.
+ */
+public class FieldSelection {
+
+	private static final Map<Class<?>, Map<String, Class<?>>> RELATIONS = new ConcurrentHashMap<>();
+	private static final Map<Class<?>, Set<String>> PROPERTIES = new ConcurrentHashMap<>();
+
+	private final ObjectMapper objectMapper;
+	private final Class<?> type;
+	private final Set<String> includedRelations;
+	private final FieldNode fields;
+	private final boolean fullGraph;
+
+	private static class FieldNode {
+		private final Map<String, FieldNode> children = new TreeMap<>();
+		private boolean all;
+	}
+
+	private FieldSelection(ObjectMapper objectMapper, Class<?> type, Set<String> includedRelations, FieldNode fields,
+			boolean fullGraph) {
+		this.objectMapper = objectMapper;
+		this.type = type;
+		this.includedRelations = includedRelations;
+		this.fields = fields;
+		this.fullGraph = fullGraph;
+	}
+
+	public static FieldSelection parse(String include, String fields, Class<?> type, ObjectMapper objectMapper) {
+		if(fields != null && fields.isBlank()) {
+			fields = null;
+		}
+		FieldNode fieldTree = fields != null ? parseFields(fields, type, objectMapper) : null;
+		Set<String> relations = new TreeSet<>();
+		if(include != null) {
+			for(String path : split(include)) {
+				addRelation(path, type, objectMapper, relations);
+			}
+			if(fieldTree != null) {
+				verifyFieldsIncluded(fieldTree, "", type, objectMapper, relations);
+			}
+		} else {
+			collectRelations(fieldTree, "", type, objectMapper, relations);
+		}
+		return new FieldSelection(objectMapper, type, relations, fieldTree, include == null && fields == null);
+	}
+
+	public boolean isFullGraph() {
+		return fullGraph;
+	}
+
+	public boolean includes(String relation) {
+		return includedRelations.contains(relation);
+	}
+
+	public String describe() {
+		return "include=" + String.join(",", includedRelations) + ";fields=" + describe(fields);
+	}
+
+	public Object apply(Object value) {
+		return fullGraph ? value : toTree(value);
+	}
+
+	public JsonNode toTree(Object value) {
+		if(value instanceof Collection<?> values) {
+			ArrayNode array = objectMapper.createArrayNode();
+			for(Object element : values) {
+				array.add(toTree(element));
+			}
+			return array;
+		}
+		ObjectNode node = objectMapper.valueToTree(value);
+		prune(node, "", fields, type);
+		return node;
+	}
+
+	private void prune(ObjectNode node, String prefix, FieldNode fieldNode, Class<?> nodeType) {
+		Map<String, Class<?>> relations = relationsOf(nodeType, objectMapper);
+		Iterator<Map.Entry<String, JsonNode>> properties = node.properties().iterator();
+		while(properties.hasNext()) {
+			Map.Entry<String, JsonNode> property = properties.next();
+			String name = property.getKey();
+			Class<?> elementType = relations.get(name);
+			if(elementType != null && !includedRelations.contains(prefix + name)
+					|| fieldNode != null && !fieldNode.all && !fieldNode.children.containsKey(name)) {
+				properties.remove();
+				continue;
+			}
+			if(elementType != null) {
+				FieldNode child = fieldNode == null || fieldNode.all ? null : fieldNode.children.get(name);
+				for(JsonNode element : property.getValue()) {
+					if(element instanceof ObjectNode elementNode) {
+						prune(elementNode, prefix + name + ".", child, elementType);
+					}
+				}
+			}
+		}
+	}
+
+	private static FieldNode parseFields(String fields, Class<?> type, ObjectMapper objectMapper) {
+		FieldNode root = new FieldNode();
+		for(String path : split(fields)) {
+			FieldNode node = root;
+			Class<?> nodeType = type;
+			String[] segments = path.split("\\.");
+			for(int i = 0; i < segments.length; i++) {
+				if(nodeType == null || !propertiesOf(nodeType, objectMapper).contains(segments[i])) {
+					throw new IllegalArgumentException("Unknown field " + path + ".");
+				}
+				node = node.children.computeIfAbsent(segments[i], segment -> new FieldNode());
+				nodeType = relationsOf(nodeType, objectMapper).get(segments[i]);
+			}
+			node.all = true;
+		}
+		return root;
+	}
+
+	private static void addRelation(String path, Class<?> type, ObjectMapper objectMapper, Set<String> relations) {
+		Class<?> nodeType = type;
+		String prefix = "";
+		for(String segment : path.split("\\.")) {
+			nodeType = relationsOf(nodeType, objectMapper).get(segment);
+			if(nodeType == null) {
+				throw new IllegalArgumentException("Cannot include " + path + ".");
+			}
+			prefix = prefix.isEmpty() ? segment : prefix + "." + segment;
+			relations.add(prefix);
+		}
+	}
+
+	private static void verifyFieldsIncluded(FieldNode node, String prefix, Class<?> nodeType,
+			ObjectMapper objectMapper, Set<String> relations) {
+		for(Map.Entry<String, FieldNode> child : node.children.entrySet()) {
+			Class<?> elementType = relationsOf(nodeType, objectMapper).get(child.getKey());
+			if(elementType != null) {
+				String path = prefix + child.getKey();
+				if(!relations.contains(path)) {
+					throw new IllegalArgumentException("Field " + path + " requires include=" + path + ".");
+				}
+				verifyFieldsIncluded(child.getValue(), path + ".", elementType, objectMapper, relations);
+			}
+		}
+	}
+
+	private static void collectRelations(FieldNode node, String prefix, Class<?> nodeType, ObjectMapper objectMapper,
+			Set<String> relations) {
+		for(Map.Entry<String, Class<?>> relation : relationsOf(nodeType, objectMapper).entrySet()) {
+			FieldNode child = node == null || node.all ? null : node.children.get(relation.getKey());
+			if(node == null || node.all || child != null) {
+				String path = prefix + relation.getKey();
+				relations.add(path);
+				collectRelations(child, path + ".", relation.getValue(), objectMapper, relations);
+			}
+		}
+	}
+
+	private static Set<String> propertiesOf(Class<?> type, ObjectMapper objectMapper) {
+		return PROPERTIES.computeIfAbsent(type, key -> {
+			Set<String> names = new TreeSet<>();
+			for(BeanPropertyDefinition property : introspect(key, objectMapper)) {
+				names.add(property.getName());
+			}
+			return names;
+		});
+	}
+
+	private static Map<String, Class<?>> relationsOf(Class<?> type, ObjectMapper objectMapper) {
+		return RELATIONS.computeIfAbsent(type, key -> {
+			Map<String, Class<?>> relations = new LinkedHashMap<>();
+			for(BeanPropertyDefinition property : introspect(key, objectMapper)) {
+				JavaType propertyType = property.getPrimaryType();
+				if(propertyType.isCollectionLikeType()
+						&& !BeanUtils.isSimpleValueType(propertyType.getContentType().getRawClass())) {
+					relations.put(property.getName(), propertyType.getContentType().getRawClass());
+				}
+			}
+			return relations;
+		});
+	}
+
+	private static List<BeanPropertyDefinition> introspect(Class<?> type, ObjectMapper objectMapper) {
+		return objectMapper
+				.getSerializationConfig()
+				.introspect(objectMapper.constructType(type))
+				.findProperties();
+	}
+
+	private static List<String> split(String value) {
+		List<String> parts = new ArrayList<>();
+		for(String part : value.split(",")) {
+			if(!part.isBlank()) {
+				parts.add(part.trim());
+			}
+		}
+		return parts;
+	}
+
+	private static String describe(FieldNode node) {
+		if(node == null || node.all) {
+			return "*";
+		}
+		List<String> children = new ArrayList<>();
+		node.children.forEach((name, child) -> children.add(name + "(" + describe(child) + ")"));
+		return String.join(",", children);
+	}
+}
@@ -0,0 +1,20 @@
+package music.app.controller.model;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import music.app.dao.LibraryChangeType;
+
+@Data
+@NoArgsConstructor
+public class LibraryChangeDto {
+
+	private LibraryChangeType changeType;
+	private Long playlistId;
+	private Long songId;
+	private LocalDateTime changedAt;
+	private PlaylistDto playlist;
+	private SongDto song;
+
+}
@@ -0,0 +1,19 @@
+package music.app.controller.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LibraryChangesDto {
+
+	private List<LibraryChangeDto> changes = new ArrayList<>();
+	private String nextToken;
+	private boolean hasMore;
+
+}
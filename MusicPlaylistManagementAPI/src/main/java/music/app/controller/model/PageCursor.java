@@ -0,0 +1,24 @@
+package music.app.controller.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record PageCursor(Long lastId) {
+
+	public static PageCursor decode(String token) {
+		if(token == null || token.isBlank()) {
+			return null;
+		}
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			return new PageCursor(Long.valueOf(decoded));
+		} catch(IllegalArgumentException e) {
+			throw new IllegalArgumentException("Cursor " + token + " is not valid.");
+		}
+	}
+
+	public String encode() {
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+	}
+}
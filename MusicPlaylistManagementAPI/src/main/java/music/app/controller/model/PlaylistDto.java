@@ -9,6 +9,7 @@ import java.util.stream.Collectors;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import music.app.controller.model.mapper.DurationMapper;
 import music.app.entity.Playlist;
 import music.app.entity.Song;
 
@@ -20,6 +21,9 @@ public class PlaylistDto {
 	private String playlistTitle;
 	private String imageUrl;
 	private Long userId;
+	private int songCount;
+	private long totalDurationSeconds;
+	private String totalDuration;
 	private List<SongDto> songs = new ArrayList<>();
 
 	public PlaylistDto(Playlist playlist) {
@@ -32,6 +36,9 @@ public class PlaylistDto {
 		this.userId = playlist.getUser().getUserId();
 		this.imageUrl = playlist.getImageUrl() != null ? playlist.getImageUrl():
 				"https://tinyurl.com/defaultplaylistimage";
+		this.songCount = playlist.getSongCount();
+		this.totalDurationSeconds = playlist.getTotalDurationSeconds();
+		this.totalDuration = DurationMapper.formatSeconds(playlist.getTotalDurationSeconds());
 
 		if(includeSongs && playlist.getSongs() != null) {
 			Set<Long> seenSongIds = new HashSet<>();
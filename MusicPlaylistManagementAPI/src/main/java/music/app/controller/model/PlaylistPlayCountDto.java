@@ -0,0 +1,16 @@
+package music.app.controller.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaylistPlayCountDto {
+
+	private Long playlistId;
+	private int songCount;
+	private long playCount;
+
+}
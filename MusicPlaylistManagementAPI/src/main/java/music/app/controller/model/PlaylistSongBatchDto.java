@@ -0,0 +1,16 @@
+package music.app.controller.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class PlaylistSongBatchDto {
+
+	private List<Long> addSongIds = new ArrayList<>();
+	private List<Long> removeSongIds = new ArrayList<>();
+
+}
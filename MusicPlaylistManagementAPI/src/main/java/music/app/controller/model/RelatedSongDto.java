@@ -0,0 +1,18 @@
+package music.app.controller.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatedSongDto {
+
+	private Long songId;
+	private String songTitle;
+	private String songArtist;
+	private String songAlbum;
+	private int sharedPlaylists;
+
+}
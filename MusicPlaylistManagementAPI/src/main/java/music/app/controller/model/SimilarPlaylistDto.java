@@ -0,0 +1,18 @@
+package music.app.controller.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarPlaylistDto {
+
+	private Long playlistId;
+	private Long userId;
+	private String playlistTitle;
+	private int songCount;
+	private double similarity;
+
+}
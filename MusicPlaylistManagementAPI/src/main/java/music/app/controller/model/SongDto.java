@@ -6,6 +6,7 @@ import java.util.stream.Collectors;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import music.app.controller.model.mapper.DurationMapper;
 import music.app.entity.Song;
 
 @Data
@@ -16,6 +17,7 @@ public class SongDto {
 	private String songTitle;
 	private String songAlbum;
 	private String songDuration;
+	private Integer songDurationSeconds;
 	private String songArtist;
 	private List<Long> playlistIds = new ArrayList<>();
 
@@ -27,7 +29,8 @@ public class SongDto {
 		this.songId = song.getSongId();
 		this.songTitle = song.getSongTitle();
 		this.songAlbum = song.getSongAlbum();
-		this.songDuration = song.getSongDuration();
+		this.songDuration = DurationMapper.formatSeconds(song.getSongDurationSeconds());
+		this.songDurationSeconds = song.getSongDurationSeconds();
 		this.songArtist = song.getSongArtist();
 		if(includePlaylistIds && song.getPlaylists() != null) {
 			this.playlistIds = song.getPlaylists()
@@ -45,7 +48,8 @@ public class SongDto {
 		song.setSongId(this.songId);
 		song.setSongTitle(this.songTitle);
 		song.setSongAlbum(this.songAlbum);
-		song.setSongDuration(this.songDuration);
+		song.setSongDurationSeconds(this.songDurationSeconds != null ?
+				this.songDurationSeconds : DurationMapper.parseSeconds(this.songDuration));
 		song.setSongArtist(this.songArtist);
 		return song;
 	}
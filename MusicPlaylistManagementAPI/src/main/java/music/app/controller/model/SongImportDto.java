@@ -0,0 +1,19 @@
+package music.app.controller.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class SongImportDto {
+
+	private String songTitle;
+	private String songAlbum;
+	private String songDuration;
+	private String songArtist;
+	private List<Long> playlistIds = new ArrayList<>();
+
+}
@@ -0,0 +1,19 @@
+package music.app.controller.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class SongImportResultDto {
+
+	private long rowsRead;
+	private long rejectedRows;
+	private long songsInserted;
+	private long duplicateSongs;
+	private long playlistSongsAdded;
+	private long unknownPlaylistIds;
+	private long elapsedMillis;
+	private double rowsPerSecond;
+
+}
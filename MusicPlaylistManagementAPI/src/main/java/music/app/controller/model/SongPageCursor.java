@@ -0,0 +1,25 @@
+package music.app.controller.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record SongPageCursor(String sort, String lastKey, Long lastSongId) {
+
+	public static SongPageCursor decode(String token) {
+		if(token == null || token.isBlank()) {
+			return null;
+		}
+		try {
+			String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\n", 3);
+			String lastKey = parts[2].isEmpty() ? null : parts[2].substring(1);
+			return new SongPageCursor(parts[0], lastKey, Long.valueOf(parts[1]));
+		} catch(IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Cursor " + token + " is not valid.");
+		}
+	}
+
+	public String encode() {
+		String value = sort + "\n" + lastSongId + "\n" + (lastKey != null ? "=" + lastKey : "");
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+}
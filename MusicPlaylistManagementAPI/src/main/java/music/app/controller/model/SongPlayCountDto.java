@@ -0,0 +1,15 @@
+package music.app.controller.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SongPlayCountDto {
+
+	private Long songId;
+	private long playCount;
+
+}
@@ -0,0 +1,16 @@
+package music.app.controller.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class SongSearchStatsDto {
+
+	private long songCount;
+	private long termCount;
+	private long postingCount;
+	private long estimatedIndexBytes;
+	private long lastBuildMillis;
+
+}
@@ -27,6 +27,10 @@ public class UserDto {
 	}
 
 	public UserDto(User user, boolean includePlaylists) {
+		this(user, includePlaylists, true);
+	}
+
+	public UserDto(User user, boolean includePlaylists, boolean includeSongs) {
 		this.userId = user.getUserId();
 		this.userName = user.getUserName();
 		this.userEmail = user.getUserEmail();
@@ -36,7 +40,7 @@ public class UserDto {
 					.stream()
 					.filter(p -> p.getPlaylistId() != null && seenPlaylistIds.add(p.getPlaylistId()))
 					.sorted(Comparator.comparing(Playlist::getPlaylistId))
-					.map(p -> new PlaylistDto(p, true))
+					.map(p -> new PlaylistDto(p, includeSongs))
 					.collect(Collectors.toList());
 		}
 	}
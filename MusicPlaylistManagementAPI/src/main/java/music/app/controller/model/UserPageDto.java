@@ -0,0 +1,18 @@
+package music.app.controller.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageDto {
+
+	private List<UserDto> users = new ArrayList<>();
+	private String nextCursor;
+
+}
@@ -0,0 +1,44 @@
+package music.app.controller.model.mapper;
+
+public class DurationMapper {
+
+	public static Integer parseSeconds(String duration) {
+		if(duration == null || duration.isBlank()) {
+			return null;
+		}
+		String[] parts = duration.trim().split(":");
+		if(parts.length > 3) {
+			throw invalidDuration(duration);
+		}
+		int seconds = 0;
+		for(int i = 0; i < parts.length; i++) {
+			String part = parts[i].trim();
+			if(part.isEmpty() || part.length() > 9 || !part.chars().allMatch(Character::isDigit)) {
+				throw invalidDuration(duration);
+			}
+			int value = Integer.parseInt(part);
+			if(i > 0 && value > 59) {
+				throw invalidDuration(duration);
+			}
+			seconds = Math.addExact(Math.multiplyExact(seconds, 60), value);
+		}
+		return seconds;
+	}
+
+	public static String formatSeconds(Number duration) {
+		if(duration == null) {
+			return null;
+		}
+		long seconds = duration.longValue();
+		long hours = seconds / 3600;
+		long minutes = seconds % 3600 / 60;
+		return hours > 0 ?
+				String.format("%d:%02d:%02d", hours, minutes, seconds % 60) :
+				String.format("%d:%02d", minutes, seconds % 60);
+	}
+
+	private static IllegalArgumentException invalidDuration(String duration) {
+		return new IllegalArgumentException(
+				"Invalid song duration \"" + duration + "\". Use m:ss, h:mm:ss or whole seconds.");
+	}
+}
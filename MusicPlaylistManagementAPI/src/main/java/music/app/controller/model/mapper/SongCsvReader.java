@@ -0,0 +1,142 @@
+package music.app.controller.model.mapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import music.app.controller.model.SongImportDto;
+
+public class SongCsvReader implements Iterator<SongImportDto>, Closeable {
+
+	private final BufferedReader reader;
+	private final Map<String, Integer> columns = new HashMap<>();
+	private List<String> nextRecord;
+	private long recordNumber;
+
+	public SongCsvReader(InputStream in) throws IOException {
+		this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+		List<String> header = readRecord();
+		if(header == null) {
+			throw new IllegalArgumentException("CSV input is empty.");
+		}
+		for(int i = 0; i < header.size(); i++) {
+			columns.put(header.get(i).trim(), i);
+		}
+		if(!columns.containsKey("songTitle")) {
+			throw new IllegalArgumentException("CSV header must contain a songTitle column.");
+		}
+		this.nextRecord = readRecord();
+	}
+
+	@Override
+	public boolean hasNext() {
+		return nextRecord != null;
+	}
+
+	@Override
+	public SongImportDto next() {
+		if(nextRecord == null) {
+			throw new NoSuchElementException("No more CSV records.");
+		}
+		SongImportDto songImportDto = convertToDto(nextRecord);
+		try {
+			nextRecord = readRecord();
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return songImportDto;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	private SongImportDto convertToDto(List<String> record) {
+		SongImportDto songImportDto = new SongImportDto();
+		songImportDto.setSongTitle(field(record, "songTitle"));
+		songImportDto.setSongAlbum(field(record, "songAlbum"));
+		songImportDto.setSongDuration(field(record, "songDuration"));
+		songImportDto.setSongArtist(field(record, "songArtist"));
+		String playlistIds = field(record, "playlistIds");
+		if(playlistIds != null) {
+			for(String playlistId : playlistIds.split(";")) {
+				if(!playlistId.isBlank()) {
+					try {
+						songImportDto.getPlaylistIds().add(Long.valueOf(playlistId.trim()));
+					} catch(NumberFormatException e) {
+						throw new IllegalArgumentException(
+								"CSV record " + recordNumber + " has an invalid playlist ID " + playlistId + ".");
+					}
+				}
+			}
+		}
+		return songImportDto;
+	}
+
+	private String field(List<String> record, String column) {
+		Integer index = columns.get(column);
+		if(index == null || index >= record.size() || record.get(index).isEmpty()) {
+			return null;
+		}
+		return record.get(index);
+	}
+
+	private List<String> readRecord() throws IOException {
+		List<String> record;
+		do {
+			record = readFields();
+		} while(record != null && record.size() == 1 && record.get(0).isEmpty());
+		if(record != null) {
+			recordNumber++;
+		}
+		return record;
+	}
+
+	private List<String> readFields() throws IOException {
+		int c = reader.read();
+		if(c == -1) {
+			return null;
+		}
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		while(true) {
+			if(quoted) {
+				if(c == -1) {
+					throw new IllegalArgumentException(
+							"CSV record " + (recordNumber + 1) + " has an unterminated quoted field.");
+				}
+				if(c == '"') {
+					c = reader.read();
+					if(c != '"') {
+						quoted = false;
+						continue;
+					}
+				}
+				field.append((char) c);
+			} else if(c == '"' && field.length() == 0) {
+				quoted = true;
+			} else if(c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else if(c == '\n' || c == -1) {
+				fields.add(field.toString());
+				return fields;
+			} else if(c != '\r') {
+				field.append((char) c);
+			}
+			c = reader.read();
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package music.app.dao;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class AggregateVersionDao {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	public Optional<Long> findUserVersion(Long userId) {
+		return jdbcTemplate.query(
+				"SELECT library_version FROM user WHERE user_id = ?",
+				(rs, rowNum) -> rs.getLong(1), userId).stream().findFirst();
+	}
+
+	public boolean lockPlaylist(Long playlistId) {
+		jdbcTemplate.queryForList(
+				"SELECT user_id FROM user WHERE user_id = (SELECT user_id FROM playlist WHERE playlist_id = ?) FOR UPDATE",
+				Long.class, playlistId);
+		return !jdbcTemplate.queryForList(
+				"SELECT playlist_id FROM playlist WHERE playlist_id = ? FOR UPDATE", Long.class, playlistId).isEmpty();
+	}
+
+	public void bumpUser(Long userId) {
+		jdbcTemplate.update(
+				"UPDATE user SET library_version = library_version + 1 WHERE user_id = ?", userId);
+	}
+
+	public void bumpPlaylists(Collection<Long> playlistIds) {
+		if(playlistIds.isEmpty()) {
+			return;
+		}
+		Map<String, Object> params = Map.of("playlistIds", playlistIds);
+		namedParameterJdbcTemplate.update(
+				"UPDATE user SET library_version = library_version + 1 WHERE user_id IN "
+						+ "(SELECT user_id FROM playlist WHERE playlist_id IN (:playlistIds))", params);
+		namedParameterJdbcTemplate.update(
+				"UPDATE playlist SET songs_version = songs_version + 1 WHERE playlist_id IN (:playlistIds)",
+				params);
+	}
+
+	public void bumpPlaylistsContainingSong(Long songId) {
+		jdbcTemplate.update(
+				"UPDATE user SET library_version = library_version + 1 WHERE user_id IN "
+						+ "(SELECT p.user_id FROM playlist p JOIN playlist_song ps ON ps.playlist_id = p.playlist_id "
+						+ "WHERE ps.song_id = ?)", songId);
+		jdbcTemplate.update(
+				"UPDATE playlist SET songs_version = songs_version + 1 WHERE playlist_id IN "
+						+ "(SELECT playlist_id FROM playlist_song WHERE song_id = ?)", songId);
+	}
+
+	public void bumpSongs(Collection<Long> songIds) {
+		if(songIds.isEmpty()) {
+			return;
+		}
+		namedParameterJdbcTemplate.update(
+				"UPDATE song SET playlists_version = playlists_version + 1 WHERE song_id IN (:songIds)",
+				Map.of("songIds", songIds));
+	}
+
+	public void bumpSongsOfPlaylists(Collection<Long> playlistIds) {
+		if(playlistIds.isEmpty()) {
+			return;
+		}
+		namedParameterJdbcTemplate.update(
+				"UPDATE song SET playlists_version = playlists_version + 1 WHERE song_id IN "
+						+ "(SELECT song_id FROM playlist_song WHERE playlist_id IN (:playlistIds))",
+				Map.of("playlistIds", playlistIds));
+	}
+}
@@ -0,0 +1,113 @@
+package music.app.dao;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class CascadeDeleteDao {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	public List<Long> findPlaylistIdsBySongId(Long songId) {
+		return jdbcTemplate.queryForList(
+				"SELECT playlist_id FROM playlist_song WHERE song_id = ?", Long.class, songId);
+	}
+
+	public int deleteLinksOfUser(Long userId) {
+		return jdbcTemplate.update(
+				"DELETE FROM playlist_song WHERE playlist_id IN (SELECT playlist_id FROM playlist WHERE user_id = ?)",
+				userId);
+	}
+
+	public int deletePlaylistsOfUser(Long userId) {
+		return jdbcTemplate.update("DELETE FROM playlist WHERE user_id = ?", userId);
+	}
+
+	public int deleteUser(Long userId) {
+		return jdbcTemplate.update("DELETE FROM user WHERE user_id = ?", userId);
+	}
+
+	public int deleteLinksOfPlaylists(Collection<Long> playlistIds) {
+		if(playlistIds.isEmpty()) {
+			return 0;
+		}
+		return namedParameterJdbcTemplate.update(
+				"DELETE FROM playlist_song WHERE playlist_id IN (:playlistIds)",
+				Map.of("playlistIds", playlistIds));
+	}
+
+	public List<Long> findLinkedSongIdsOfPlaylists(Collection<Long> playlistIds, int limit) {
+		if(playlistIds.isEmpty()) {
+			return List.of();
+		}
+		return namedParameterJdbcTemplate.queryForList(
+				"SELECT song_id FROM playlist_song WHERE playlist_id IN (:playlistIds) LIMIT :limit",
+				Map.of("playlistIds", playlistIds, "limit", limit), Long.class);
+	}
+
+	public int deleteLinksOfPlaylists(Collection<Long> playlistIds, Collection<Long> songIds, int limit) {
+		if(playlistIds.isEmpty() || songIds.isEmpty()) {
+			return 0;
+		}
+		return namedParameterJdbcTemplate.update(
+				"DELETE FROM playlist_song WHERE playlist_id IN (:playlistIds) AND song_id IN (:songIds) LIMIT :limit",
+				Map.of("playlistIds", playlistIds, "songIds", songIds, "limit", limit));
+	}
+
+	public int deletePlaylists(Collection<Long> playlistIds) {
+		if(playlistIds.isEmpty()) {
+			return 0;
+		}
+		return namedParameterJdbcTemplate.update(
+				"DELETE FROM playlist WHERE playlist_id IN (:playlistIds)",
+				Map.of("playlistIds", playlistIds));
+	}
+
+	public int deleteLinksOfSong(Long songId) {
+		return jdbcTemplate.update("DELETE FROM playlist_song WHERE song_id = ?", songId);
+	}
+
+	public int deleteSong(Long songId) {
+		return jdbcTemplate.update("DELETE FROM song WHERE song_id = ?", songId);
+	}
+
+	public int queuePlaylistsOfUser(Long userId) {
+		return jdbcTemplate.update(
+				"INSERT INTO playlist_purge (playlist_id) SELECT playlist_id FROM playlist WHERE user_id = ?", userId);
+	}
+
+	public int queuePlaylist(Long playlistId) {
+		return jdbcTemplate.update("INSERT INTO playlist_purge (playlist_id) VALUES (?)", playlistId);
+	}
+
+	public int detachPlaylistsOfUser(Long userId) {
+		return jdbcTemplate.update("UPDATE playlist SET user_id = NULL WHERE user_id = ?", userId);
+	}
+
+	public int detachPlaylist(Long playlistId) {
+		return jdbcTemplate.update("UPDATE playlist SET user_id = NULL WHERE playlist_id = ?", playlistId);
+	}
+
+	public List<Long> findQueuedPlaylistIds(int limit) {
+		return jdbcTemplate.queryForList(
+				"SELECT playlist_id FROM playlist_purge ORDER BY playlist_id LIMIT ?", Long.class, limit);
+	}
+
+	public int dequeue(Collection<Long> playlistIds) {
+		if(playlistIds.isEmpty()) {
+			return 0;
+		}
+		return namedParameterJdbcTemplate.update(
+				"DELETE FROM playlist_purge WHERE playlist_id IN (:playlistIds)",
+				Map.of("playlistIds", playlistIds));
+	}
+}
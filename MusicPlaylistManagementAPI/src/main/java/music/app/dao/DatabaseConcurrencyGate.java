@@ -0,0 +1,146 @@
+package music.app.dao;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounds how many threads hold a database connection at once. Up to
+ * {@code music.app.db-gate.max-waiting} callers wait up to {@code music.app.db-gate.acquire-timeout-ms}
+ * for a permit and the rest are rejected at once. Waiting is not strictly first-come: a caller
+ * arriving while a permit is free takes it ahead of those already waiting.
+ */
+@Component
+public class DatabaseConcurrencyGate implements BeanPostProcessor, SmartInitializingSingleton {
+
+	@Autowired
+	private ObjectProvider<MeterRegistry> meterRegistry;
+	@Value("${music.app.db-gate.enabled:false}")
+	private boolean enabled;
+	@Value("${music.app.db-gate.max-concurrency:${spring.datasource.hikari.maximum-pool-size:10}}")
+	private int maxConcurrency;
+	@Value("${music.app.db-gate.max-waiting:200}")
+	private int maxWaiting;
+	@Value("${music.app.db-gate.acquire-timeout-ms:5000}")
+	private long acquireTimeoutMillis;
+
+	private Semaphore permits;
+	private final AtomicInteger waiting = new AtomicInteger();
+	private final LongAdder rejected = new LongAdder();
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if(enabled && bean instanceof DataSource dataSource) {
+			permits = new Semaphore(maxConcurrency, true);
+			return new GatedDataSource(dataSource);
+		}
+		return bean;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		MeterRegistry registry = meterRegistry.getIfAvailable();
+		if(permits == null || registry == null) {
+			return;
+		}
+		Gauge.builder("music.app.db.gate.active", permits, gate -> maxConcurrency - gate.availablePermits())
+				.description("Threads holding a database connection through the concurrency gate")
+				.register(registry);
+		Gauge.builder("music.app.db.gate.waiting", waiting, AtomicInteger::get)
+				.description("Threads waiting at the database concurrency gate")
+				.register(registry);
+		FunctionCounter.builder("music.app.db.gate.rejected", rejected, LongAdder::sum)
+				.description("Connection requests rejected by the database concurrency gate")
+				.register(registry);
+	}
+
+	private void acquire() throws SQLException {
+		if(permits.tryAcquire()) {
+			return;
+		}
+		if(waiting.incrementAndGet() > maxWaiting) {
+			waiting.decrementAndGet();
+			rejected.increment();
+			throw new SQLTransientConnectionException("Database concurrency gate is full: " + maxConcurrency
+					+ " connections in use and " + maxWaiting + " requests waiting.");
+		}
+		try {
+			if(!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+				rejected.increment();
+				throw new SQLTransientConnectionException(
+						"Timed out after " + acquireTimeoutMillis + " ms waiting at the database concurrency gate.");
+			}
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Interrupted while waiting at the database concurrency gate.", e);
+		} finally {
+			waiting.decrementAndGet();
+		}
+	}
+
+	private class GatedDataSource extends DelegatingDataSource {
+
+		GatedDataSource(DataSource targetDataSource) {
+			super(targetDataSource);
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			acquire();
+			try {
+				return gated(super.getConnection());
+			} catch(SQLException | RuntimeException e) {
+				permits.release();
+				throw e;
+			}
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			acquire();
+			try {
+				return gated(super.getConnection(username, password));
+			} catch(SQLException | RuntimeException e) {
+				permits.release();
+				throw e;
+			}
+		}
+
+		private Connection gated(Connection connection) {
+			AtomicBoolean released = new AtomicBoolean();
+			return (Connection) Proxy.newProxyInstance(DatabaseConcurrencyGate.class.getClassLoader(),
+					new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+						try {
+							return method.invoke(connection, args);
+						} catch(InvocationTargetException e) {
+							throw e.getCause();
+						} finally {
+							if(method.getName().equals("close") && released.compareAndSet(false, true)) {
+								permits.release();
+							}
+						}
+					});
+		}
+	}
+}
@@ -0,0 +1,7 @@
+package music.app.dao;
+
+import java.time.LocalDateTime;
+
+public record LibraryChange(long changeId, LibraryChangeType changeType, Long playlistId, Long songId,
+		LocalDateTime changedAt) {
+}
@@ -0,0 +1,118 @@
+package music.app.dao;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class LibraryChangeDao {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+	private int batchSize;
+
+	public void recordUserChange(Long userId, LibraryChangeType changeType) {
+		jdbcTemplate.update(
+				"INSERT INTO library_change (user_id, change_type) VALUES (?, ?)", userId, changeType.name());
+	}
+
+	public void recordPlaylistChange(Long playlistId, LibraryChangeType changeType) {
+		jdbcTemplate.update(
+				"INSERT INTO library_change (user_id, change_type, playlist_id) "
+						+ "SELECT user_id, ?, playlist_id FROM playlist WHERE playlist_id = ? AND user_id IS NOT NULL",
+				changeType.name(), playlistId);
+	}
+
+	public void recordSongsOfPlaylist(Long playlistId, LibraryChangeType changeType) {
+		jdbcTemplate.update(
+				"INSERT INTO library_change (user_id, change_type, playlist_id, song_id) "
+						+ "SELECT p.user_id, ?, p.playlist_id, ps.song_id FROM playlist p "
+						+ "JOIN playlist_song ps ON ps.playlist_id = p.playlist_id "
+						+ "WHERE p.playlist_id = ? AND p.user_id IS NOT NULL ORDER BY ps.song_id",
+				changeType.name(), playlistId);
+	}
+
+	public void recordSongChanges(Long playlistId, Collection<Long> songIds, LibraryChangeType changeType) {
+		if(songIds.isEmpty()) {
+			return;
+		}
+		namedParameterJdbcTemplate.update(
+				"INSERT INTO library_change (user_id, change_type, playlist_id, song_id) "
+						+ "SELECT p.user_id, :changeType, p.playlist_id, s.song_id FROM playlist p "
+						+ "JOIN song s ON s.song_id IN (:songIds) "
+						+ "WHERE p.playlist_id = :playlistId AND p.user_id IS NOT NULL ORDER BY s.song_id",
+				Map.of("changeType", changeType.name(), "songIds", songIds, "playlistId", playlistId));
+	}
+
+	public void recordSongChanges(Collection<PlaylistSongLink> links, LibraryChangeType changeType) {
+		jdbcTemplate.batchUpdate(
+				"INSERT INTO library_change (user_id, change_type, playlist_id, song_id) "
+						+ "SELECT user_id, ?, playlist_id, ? FROM playlist WHERE playlist_id = ? AND user_id IS NOT NULL",
+				links, batchSize, (ps, link) -> {
+					ps.setString(1, changeType.name());
+					ps.setLong(2, link.songId());
+					ps.setLong(3, link.playlistId());
+				});
+	}
+
+	public void recordSongRemovedFromPlaylists(Long songId) {
+		jdbcTemplate.update(
+				"INSERT INTO library_change (user_id, change_type, playlist_id, song_id) "
+						+ "SELECT p.user_id, ?, p.playlist_id, ps.song_id FROM playlist_song ps "
+						+ "JOIN playlist p ON p.playlist_id = ps.playlist_id "
+						+ "WHERE ps.song_id = ? AND p.user_id IS NOT NULL ORDER BY p.playlist_id",
+				LibraryChangeType.SONG_REMOVED.name(), songId);
+	}
+
+	public void recordSongUpdated(Long songId) {
+		jdbcTemplate.update(
+				"INSERT INTO library_change (user_id, change_type, song_id) "
+						+ "SELECT DISTINCT p.user_id, ?, ps.song_id FROM playlist_song ps "
+						+ "JOIN playlist p ON p.playlist_id = ps.playlist_id "
+						+ "WHERE ps.song_id = ? AND p.user_id IS NOT NULL",
+				LibraryChangeType.SONG_UPDATED.name(), songId);
+	}
+
+	public List<LibraryChange> findChanges(Long userId, long afterChangeId, int limit) {
+		return jdbcTemplate.query(
+				"SELECT change_id, change_type, playlist_id, song_id, changed_at FROM library_change "
+						+ "WHERE user_id = ? AND change_id > ? ORDER BY change_id LIMIT ?",
+				(rs, rowNum) -> new LibraryChange(
+						rs.getLong("change_id"),
+						LibraryChangeType.valueOf(rs.getString("change_type")),
+						rs.getObject("playlist_id", Long.class),
+						rs.getObject("song_id", Long.class),
+						rs.getTimestamp("changed_at").toLocalDateTime()),
+				userId, afterChangeId, limit);
+	}
+
+	public long findLastChangeId() {
+		return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(change_id), 0) FROM library_change", Long.class);
+	}
+
+	public Map<Long, Long> findLastChangeIdsByUserAfter(long afterChangeId, int limit) {
+		Map<Long, Long> lastChangeIds = new HashMap<>();
+		jdbcTemplate.query(
+				"SELECT user_id, MAX(change_id) AS last_change_id FROM library_change WHERE change_id > ? "
+						+ "GROUP BY user_id ORDER BY last_change_id LIMIT ?",
+				rs -> {
+					lastChangeIds.put(rs.getLong("user_id"), rs.getLong("last_change_id"));
+				},
+				afterChangeId, limit);
+		return lastChangeIds;
+	}
+
+	public int deleteChangesOfUser(Long userId) {
+		return jdbcTemplate.update("DELETE FROM library_change WHERE user_id = ?", userId);
+	}
+}
@@ -0,0 +1,19 @@
+package music.app.dao;
+
+public enum LibraryChangeType {
+	USER_UPDATED,
+	PLAYLIST_CREATED,
+	PLAYLIST_UPDATED,
+	PLAYLIST_DELETED,
+	SONG_ADDED,
+	SONG_REMOVED,
+	SONG_UPDATED;
+
+	public boolean carriesPlaylist() {
+		return this == PLAYLIST_CREATED || this == PLAYLIST_UPDATED;
+	}
+
+	public boolean carriesSong() {
+		return this == SONG_ADDED || this == SONG_UPDATED;
+	}
+}
@@ -0,0 +1,44 @@
+package music.app.dao;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class PlayCountDao {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	public void addPlays(List<Map.Entry<Long, Long>> playsBySongId) {
+		jdbcTemplate.batchUpdate(
+				"INSERT INTO song_play_count (song_id, play_count) SELECT song_id, ? FROM song WHERE song_id = ? "
+						+ "ON DUPLICATE KEY UPDATE play_count = play_count + ?",
+				playsBySongId, playsBySongId.size(), (ps, plays) -> {
+					ps.setLong(1, plays.getValue());
+					ps.setLong(2, plays.getKey());
+					ps.setLong(3, plays.getValue());
+				});
+	}
+
+	public long findPlayCount(Long songId) {
+		return jdbcTemplate.query(
+				"SELECT play_count FROM song_play_count WHERE song_id = ?",
+				(rs, rowNum) -> rs.getLong(1), songId).stream().findFirst().orElse(0L);
+	}
+
+	public Map<Long, Long> findPlayCountsOfPlaylist(Long playlistId) {
+		Map<Long, Long> playCounts = new HashMap<>();
+		jdbcTemplate.query(
+				"SELECT ps.song_id, COALESCE(c.play_count, 0) AS play_count FROM playlist_song ps "
+						+ "LEFT JOIN song_play_count c ON c.song_id = ps.song_id WHERE ps.playlist_id = ?",
+				rs -> {
+					playCounts.put(rs.getLong("song_id"), rs.getLong("play_count"));
+				}, playlistId);
+		return playCounts;
+	}
+}
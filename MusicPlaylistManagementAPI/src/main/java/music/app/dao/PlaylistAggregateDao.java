@@ -0,0 +1,84 @@
+package music.app.dao;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class PlaylistAggregateDao {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	public Map<Long, Long> findSongDurations(Collection<Long> songIds) {
+		Map<Long, Long> durations = new HashMap<>();
+		if(songIds.isEmpty()) {
+			return durations;
+		}
+		namedParameterJdbcTemplate.query(
+				"SELECT song_id, song_duration_seconds FROM song WHERE song_id IN (:songIds)",
+				Map.of("songIds", songIds),
+				rs -> {
+					durations.put(rs.getLong("song_id"), rs.getLong("song_duration_seconds"));
+				});
+		return durations;
+	}
+
+	public long lockSongDuration(Long songId) {
+		return jdbcTemplate.query(
+				"SELECT song_duration_seconds FROM song WHERE song_id = ? FOR UPDATE",
+				(rs, rowNum) -> rs.getLong(1), songId).stream().findFirst().orElse(0L);
+	}
+
+	public void adjust(Collection<PlaylistAggregateDelta> deltas) {
+		List<PlaylistAggregateDelta> changes = deltas
+				.stream()
+				.filter(delta -> delta.songCount() != 0 || delta.totalDurationSeconds() != 0)
+				.toList();
+		jdbcTemplate.batchUpdate(
+				"UPDATE playlist SET song_count = song_count + ?, "
+						+ "total_duration_seconds = total_duration_seconds + ? WHERE playlist_id = ?",
+				changes, changes.size(), (ps, delta) -> {
+					ps.setInt(1, delta.songCount());
+					ps.setLong(2, delta.totalDurationSeconds());
+					ps.setLong(3, delta.playlistId());
+				});
+	}
+
+	public int adjustDurationOfPlaylists(Collection<Long> playlistIds, long durationDelta) {
+		if(playlistIds.isEmpty()) {
+			return 0;
+		}
+		return namedParameterJdbcTemplate.update(
+				"UPDATE playlist SET total_duration_seconds = total_duration_seconds + :durationDelta "
+						+ "WHERE playlist_id IN (:playlistIds)",
+				Map.of("durationDelta", durationDelta, "playlistIds", playlistIds));
+	}
+
+	public int removeSongFromPlaylists(Long songId, Collection<Long> playlistIds) {
+		if(playlistIds.isEmpty()) {
+			return 0;
+		}
+		return namedParameterJdbcTemplate.update(
+				"UPDATE playlist SET song_count = song_count - 1, total_duration_seconds = total_duration_seconds - "
+						+ "(SELECT COALESCE(MAX(song_duration_seconds), 0) FROM song WHERE song_id = :songId) "
+						+ "WHERE playlist_id IN (:playlistIds)",
+				Map.of("songId", songId, "playlistIds", playlistIds));
+	}
+
+	public void recalculate(Long playlistId) {
+		jdbcTemplate.update(
+				"UPDATE playlist SET song_count = (SELECT COUNT(*) FROM playlist_song WHERE playlist_id = ?), "
+						+ "total_duration_seconds = (SELECT COALESCE(SUM(s.song_duration_seconds), 0) FROM playlist_song ps "
+						+ "JOIN song s ON s.song_id = ps.song_id WHERE ps.playlist_id = ?) WHERE playlist_id = ?",
+				playlistId, playlistId, playlistId);
+	}
+}
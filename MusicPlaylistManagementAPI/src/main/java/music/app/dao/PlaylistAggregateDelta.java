@@ -0,0 +1,4 @@
+package music.app.dao;
+
+public record PlaylistAggregateDelta(Long playlistId, int songCount, long totalDurationSeconds) {
+}
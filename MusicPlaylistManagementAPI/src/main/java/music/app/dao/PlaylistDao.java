@@ -1,22 +1,40 @@
 package music.app.dao;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
 import music.app.entity.Playlist;
 
 public interface PlaylistDao extends JpaRepository<Playlist, Long> {
 
 	@EntityGraph(attributePaths = {"songs"})
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	@Query("SELECT DISTINCT p FROM Playlist p WHERE p.playlistId = :playlistId")
 	Optional<Playlist> findPlaylistByPlaylistId(@Param("playlistId")Long playlistId);
 
 	@EntityGraph(attributePaths = {"songs"})
 	@Query("SELECT DISTINCT p FROM Playlist p ")
 	List<Playlist> findAllPlaylistsWithSongs();
+
+	@Query("SELECT p.playlistId FROM Playlist p WHERE p.playlistId IN :playlistIds")
+	List<Long> findExistingPlaylistIds(@Param("playlistIds") Collection<Long> playlistIds);
+
+	@Query("SELECT p.user.userId FROM Playlist p WHERE p.playlistId = :playlistId")
+	Optional<Long> findOwnerIdByPlaylistId(@Param("playlistId") Long playlistId);
+
+	@Query("SELECT p.playlistId FROM Playlist p WHERE p.user.userId = :userId")
+	List<Long> findPlaylistIdsByUserId(@Param("userId") Long userId);
+
+	@Query("SELECT new music.app.dao.PlaylistSummary(p.playlistId, p.user.userId, p.playlistTitle, p.songCount) "
+			+ "FROM Playlist p WHERE p.playlistId IN :playlistIds")
+	List<PlaylistSummary> findPlaylistSummaries(@Param("playlistIds") Collection<Long> playlistIds);
 }
@@ -0,0 +1,204 @@
+package music.app.dao;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import music.app.entity.Song;
+
+@Repository
+public class PlaylistSongDao {
+
+	@FunctionalInterface
+	public interface LinkConsumer {
+		void accept(long playlistId, long songId);
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+	private int batchSize;
+
+	public Set<PlaylistSongLink> findBySongIds(Collection<Long> songIds) {
+		Set<PlaylistSongLink> links = new HashSet<>();
+		if(songIds.isEmpty()) {
+			return links;
+		}
+		namedParameterJdbcTemplate.query(
+				"SELECT playlist_id, song_id FROM playlist_song WHERE song_id IN (:songIds)",
+				Map.of("songIds", songIds),
+				rs -> {
+					links.add(new PlaylistSongLink(rs.getLong("playlist_id"), rs.getLong("song_id")));
+				});
+		return links;
+	}
+
+	public Set<PlaylistSongLink> findBySongIdsAndPlaylistIds(Collection<Long> songIds, Collection<Long> playlistIds) {
+		Set<PlaylistSongLink> links = new HashSet<>();
+		if(songIds.isEmpty() || playlistIds.isEmpty()) {
+			return links;
+		}
+		namedParameterJdbcTemplate.query(
+				"SELECT playlist_id, song_id FROM playlist_song WHERE song_id IN (:songIds) AND playlist_id IN (:playlistIds)",
+				Map.of("songIds", songIds, "playlistIds", playlistIds),
+				rs -> {
+					links.add(new PlaylistSongLink(rs.getLong("playlist_id"), rs.getLong("song_id")));
+				});
+		return links;
+	}
+
+	public void forEachLink(LinkConsumer consumer) {
+		jdbcTemplate.query(
+				"SELECT playlist_id, song_id FROM playlist_song ORDER BY playlist_id, song_id",
+				rs -> {
+					consumer.accept(rs.getLong(1), rs.getLong(2));
+				});
+	}
+
+	public void forEachLinkOfPlaylists(Collection<Long> playlistIds, LinkConsumer consumer) {
+		if(playlistIds.isEmpty()) {
+			return;
+		}
+		namedParameterJdbcTemplate.query(
+				"SELECT playlist_id, song_id FROM playlist_song WHERE playlist_id IN (:playlistIds) "
+						+ "ORDER BY playlist_id, song_id",
+				Map.of("playlistIds", playlistIds),
+				rs -> {
+					consumer.accept(rs.getLong(1), rs.getLong(2));
+				});
+	}
+
+	public Set<Long> findSongIdsForUpdate(Long playlistId, Collection<Long> songIds) {
+		Set<Long> memberSongIds = new HashSet<>();
+		if(songIds.isEmpty()) {
+			return memberSongIds;
+		}
+		namedParameterJdbcTemplate.query(
+				"SELECT song_id FROM playlist_song WHERE playlist_id = :playlistId AND song_id IN (:songIds) FOR UPDATE",
+				Map.of("playlistId", playlistId, "songIds", songIds),
+				rs -> {
+					memberSongIds.add(rs.getLong("song_id"));
+				});
+		return memberSongIds;
+	}
+
+	public List<PlaylistSongRow> findSongPage(Long playlistId, PlaylistSongSort sort, String afterKey,
+			Long afterSongId, int limit) {
+		String column = sort.getColumn();
+		Map<String, Object> params = new HashMap<>();
+		params.put("playlistId", playlistId);
+		params.put("limit", limit);
+		return namedParameterJdbcTemplate.query(
+				"SELECT s.song_id, s.song_title, s.song_album, s.song_duration_seconds, s.song_artist, "
+						+ column + " AS sort_key FROM playlist_song ps JOIN song s ON s.song_id = ps.song_id "
+						+ "WHERE ps.playlist_id = :playlistId " + keyset(sort, afterKey, afterSongId, params)
+						+ "ORDER BY " + column + ", ps.song_id LIMIT :limit",
+				params,
+				(rs, rowNum) -> {
+					Song song = new Song();
+					song.setSongId(rs.getLong("song_id"));
+					song.setSongTitle(rs.getString("song_title"));
+					song.setSongAlbum(rs.getString("song_album"));
+					song.setSongDurationSeconds(rs.getObject("song_duration_seconds", Integer.class));
+					song.setSongArtist(rs.getString("song_artist"));
+					String sortKey = sort == PlaylistSongSort.ADDED
+							? rs.getTimestamp("sort_key").toLocalDateTime().toString()
+							: rs.getString("sort_key");
+					return new PlaylistSongRow(song, sortKey);
+				});
+	}
+
+	public Optional<PlaylistSongPageVersion> findSongPageVersion(Long playlistId, PlaylistSongSort sort, String afterKey,
+			Long afterSongId, int limit) {
+		String column = sort.getColumn();
+		Map<String, Object> params = new HashMap<>();
+		params.put("playlistId", playlistId);
+		params.put("limit", limit);
+		return namedParameterJdbcTemplate.query(
+				"SELECT p.user_id, p.songs_version, (SELECT COALESCE(SUM(page.playlists_version), 0) FROM "
+						+ "(SELECT s.playlists_version FROM playlist_song ps JOIN song s ON s.song_id = ps.song_id "
+						+ "WHERE ps.playlist_id = :playlistId " + keyset(sort, afterKey, afterSongId, params)
+						+ "ORDER BY " + column + ", ps.song_id LIMIT :limit) page) "
+						+ "FROM playlist p WHERE p.playlist_id = :playlistId",
+				params,
+				(rs, rowNum) -> new PlaylistSongPageVersion(rs.getObject(1, Long.class), rs.getLong(2) + "." + rs.getLong(3)))
+				.stream()
+				.findFirst();
+	}
+
+	private static String keyset(PlaylistSongSort sort, String afterKey, Long afterSongId, Map<String, Object> params) {
+		if(afterSongId == null) {
+			return "";
+		}
+		String column = sort.getColumn();
+		params.put("afterSongId", afterSongId);
+		if(afterKey == null) {
+			return "AND (" + column + " IS NOT NULL OR ps.song_id > :afterSongId) ";
+		}
+		params.put("afterKey", sort == PlaylistSongSort.ADDED ? LocalDateTime.parse(afterKey) : afterKey);
+		return "AND (" + column + " > :afterKey OR (" + column + " = :afterKey AND ps.song_id > :afterSongId)) ";
+	}
+
+	public int copySortKeys(Long playlistId) {
+		return jdbcTemplate.update(
+				"UPDATE playlist_song SET "
+						+ "song_title = (SELECT s.song_title FROM song s WHERE s.song_id = playlist_song.song_id), "
+						+ "song_album = (SELECT s.song_album FROM song s WHERE s.song_id = playlist_song.song_id), "
+						+ "song_artist = (SELECT s.song_artist FROM song s WHERE s.song_id = playlist_song.song_id) "
+						+ "WHERE playlist_id = ?", playlistId);
+	}
+
+	public int updateSortKeys(Long songId, String songTitle, String songAlbum, String songArtist) {
+		return jdbcTemplate.update(
+				"UPDATE playlist_song SET song_title = ?, song_album = ?, song_artist = ? WHERE song_id = ?",
+				songTitle, songAlbum, songArtist, songId);
+	}
+
+	public boolean exists(Long playlistId, Long songId) {
+		return !jdbcTemplate.queryForList(
+				"SELECT 1 FROM playlist_song WHERE playlist_id = ? AND song_id = ?",
+				Integer.class, playlistId, songId).isEmpty();
+	}
+
+	public int insertIfAbsent(Long playlistId, Collection<Long> songIds) {
+		if(songIds.isEmpty()) {
+			return 0;
+		}
+		return namedParameterJdbcTemplate.update(
+				"INSERT IGNORE INTO playlist_song (playlist_id, song_id, song_title, song_album, song_artist) "
+						+ "SELECT :playlistId, song_id, song_title, song_album, song_artist FROM song WHERE song_id IN (:songIds)",
+				Map.of("playlistId", playlistId, "songIds", songIds));
+	}
+
+	public int delete(Long playlistId, Collection<Long> songIds) {
+		if(songIds.isEmpty()) {
+			return 0;
+		}
+		return namedParameterJdbcTemplate.update(
+				"DELETE FROM playlist_song WHERE playlist_id = :playlistId AND song_id IN (:songIds)",
+				Map.of("playlistId", playlistId, "songIds", songIds));
+	}
+
+	public int[][] insertIfAbsent(Collection<PlaylistSongLink> links) {
+		return jdbcTemplate.batchUpdate(
+				"INSERT IGNORE INTO playlist_song (playlist_id, song_id, song_title, song_album, song_artist) "
+						+ "SELECT ?, song_id, song_title, song_album, song_artist FROM song WHERE song_id = ?",
+				links, batchSize, (ps, link) -> {
+					ps.setLong(1, link.playlistId());
+					ps.setLong(2, link.songId());
+				});
+	}
+}
@@ -0,0 +1,4 @@
+package music.app.dao;
+
+public record PlaylistSongLink(Long playlistId, Long songId) {
+}
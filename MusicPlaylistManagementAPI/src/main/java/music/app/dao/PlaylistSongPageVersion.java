@@ -0,0 +1,4 @@
+package music.app.dao;
+
+public record PlaylistSongPageVersion(Long ownerId, String version) {
+}
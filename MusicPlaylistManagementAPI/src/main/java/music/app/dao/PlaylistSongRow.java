@@ -0,0 +1,6 @@
+package music.app.dao;
+
+import music.app.entity.Song;
+
+public record PlaylistSongRow(Song song, String sortKey) {
+}
@@ -0,0 +1,34 @@
+package music.app.dao;
+
+import java.util.Locale;
+
+public enum PlaylistSongSort {
+
+	ARTIST("ps.song_artist"),
+	TITLE("ps.song_title"),
+	ALBUM("ps.song_album"),
+	ADDED("ps.added_at");
+
+	private final String column;
+
+	PlaylistSongSort(String column) {
+		this.column = column;
+	}
+
+	public String getColumn() {
+		return column;
+	}
+
+	public String getName() {
+		return name().toLowerCase(Locale.ROOT);
+	}
+
+	public static PlaylistSongSort parse(String sort) {
+		for(PlaylistSongSort value : values()) {
+			if(value.getName().equals(sort)) {
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("Sort " + sort + " is not supported. Use artist, title, album or added.");
+	}
+}
@@ -0,0 +1,4 @@
+package music.app.dao;
+
+public record PlaylistSummary(Long playlistId, Long userId, String playlistTitle, int songCount) {
+}
@@ -0,0 +1,141 @@
+package music.app.dao;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import io.r2dbc.spi.Readable;
+import music.app.entity.Playlist;
+import music.app.entity.Song;
+import music.app.entity.User;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC reads of users, playlists and songs, mapped to detached entities. Joined rows are grouped
+ * by parent key, so each element is emitted once its last row is read.
+ */
+@Repository
+public class ReactiveMusicDao {
+
+	@Autowired
+	private DatabaseClient databaseClient;
+
+	private record PlaylistRow(Playlist playlist, Song song) {
+	}
+
+	private record SongRow(Song song, Long playlistId) {
+	}
+
+	public Flux<User> streamUsers() {
+		return databaseClient
+				.sql("SELECT user_id, user_name, user_email FROM user ORDER BY user_id")
+				.map(ReactiveMusicDao::toUser)
+				.all();
+	}
+
+	public Mono<User> findUser(Long userId) {
+		return databaseClient
+				.sql("SELECT user_id, user_name, user_email FROM user WHERE user_id = :userId")
+				.bind("userId", userId)
+				.map(ReactiveMusicDao::toUser)
+				.one();
+	}
+
+	public Mono<Boolean> existsUser(Long userId) {
+		return databaseClient
+				.sql("SELECT COUNT(*) FROM user WHERE user_id = :userId")
+				.bind("userId", userId)
+				.map(row -> row.get(0, Long.class) > 0)
+				.one();
+	}
+
+	public Mono<Long> findPlaylistOwnerId(Long playlistId) {
+		return databaseClient
+				.sql("SELECT COALESCE(user_id, 0) FROM playlist WHERE playlist_id = :playlistId")
+				.bind("playlistId", playlistId)
+				.map(row -> row.get(0, Long.class))
+				.one();
+	}
+
+	public Flux<Playlist> streamPlaylistsWithSongsOfUser(Long userId) {
+		return databaseClient
+				.sql("SELECT p.playlist_id, p.playlist_title, p.image_url, p.song_count, p.total_duration_seconds, "
+						+ "s.song_id, s.song_title, s.song_album, s.song_duration_seconds, s.song_artist "
+						+ "FROM playlist p LEFT JOIN playlist_song ps ON ps.playlist_id = p.playlist_id "
+						+ "LEFT JOIN song s ON s.song_id = ps.song_id WHERE p.user_id = :userId "
+						+ "ORDER BY p.playlist_id, s.song_id")
+				.bind("userId", userId)
+				.map(row -> new PlaylistRow(toPlaylist(row, userId),
+						row.get("song_id", Long.class) != null ? toSong(row) : null))
+				.all()
+				.bufferUntilChanged(playlistRow -> playlistRow.playlist().getPlaylistId())
+				.map(ReactiveMusicDao::toPlaylistWithSongs);
+	}
+
+	public Flux<Song> streamSongsOfPlaylist(Long playlistId) {
+		return databaseClient
+				.sql("SELECT s.song_id, s.song_title, s.song_album, s.song_duration_seconds, s.song_artist, "
+						+ "other.playlist_id FROM playlist_song ps JOIN song s ON s.song_id = ps.song_id "
+						+ "JOIN playlist_song other ON other.song_id = s.song_id WHERE ps.playlist_id = :playlistId "
+						+ "ORDER BY s.song_artist, s.song_id")
+				.bind("playlistId", playlistId)
+				.map(row -> new SongRow(toSong(row), row.get("playlist_id", Long.class)))
+				.all()
+				.bufferUntilChanged(songRow -> songRow.song().getSongId())
+				.map(ReactiveMusicDao::toSongWithPlaylists);
+	}
+
+	private static Playlist toPlaylistWithSongs(List<PlaylistRow> rows) {
+		Playlist playlist = rows.get(0).playlist();
+		for(PlaylistRow row : rows) {
+			if(row.song() != null) {
+				playlist.getSongs().add(row.song());
+			}
+		}
+		return playlist;
+	}
+
+	private static Song toSongWithPlaylists(List<SongRow> rows) {
+		Song song = rows.get(0).song();
+		for(SongRow row : rows) {
+			Playlist playlist = new Playlist();
+			playlist.setPlaylistId(row.playlistId());
+			song.getPlaylists().add(playlist);
+		}
+		return song;
+	}
+
+	private static User toUser(Readable row) {
+		User user = new User();
+		user.setUserId(row.get("user_id", Long.class));
+		user.setUserName(row.get("user_name", String.class));
+		user.setUserEmail(row.get("user_email", String.class));
+		return user;
+	}
+
+	private static Playlist toPlaylist(Readable row, Long userId) {
+		User user = new User();
+		user.setUserId(userId);
+		Playlist playlist = new Playlist();
+		playlist.setPlaylistId(row.get("playlist_id", Long.class));
+		playlist.setPlaylistTitle(row.get("playlist_title", String.class));
+		playlist.setImageUrl(row.get("image_url", String.class));
+		playlist.setSongCount(row.get("song_count", Integer.class));
+		playlist.setTotalDurationSeconds(row.get("total_duration_seconds", Long.class));
+		playlist.setUser(user);
+		return playlist;
+	}
+
+	private static Song toSong(Readable row) {
+		Song song = new Song();
+		song.setSongId(row.get("song_id", Long.class));
+		song.setSongTitle(row.get("song_title", String.class));
+		song.setSongAlbum(row.get("song_album", String.class));
+		song.setSongDurationSeconds(row.get("song_duration_seconds", Integer.class));
+		song.setSongArtist(row.get("song_artist", String.class));
+		return song;
+	}
+}
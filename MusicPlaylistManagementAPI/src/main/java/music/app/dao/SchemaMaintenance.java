@@ -0,0 +1,173 @@
+package music.app.dao;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import music.app.controller.model.mapper.DurationMapper;
+
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class SchemaMaintenance {
+
+	private static final int ID_ALLOCATION_SIZE = 50;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@PostConstruct
+	public void maintain() {
+		alignIdTable("user_seq", "user", "user_id");
+		alignIdTable("playlist_seq", "playlist", "playlist_id");
+		alignIdTable("song_seq", "song", "song_id");
+		addColumnIfMissing("user", "library_version", "BIGINT NOT NULL DEFAULT 0");
+		addColumnIfMissing("playlist", "songs_version", "BIGINT NOT NULL DEFAULT 0");
+		addColumnIfMissing("song", "playlists_version", "BIGINT NOT NULL DEFAULT 0");
+		createTableIfMissing("song_play_count", "song_id BIGINT NOT NULL PRIMARY KEY, play_count BIGINT NOT NULL, "
+				+ "CONSTRAINT fk_song_play_count_song FOREIGN KEY (song_id) REFERENCES song (song_id) ON DELETE CASCADE");
+		createTableIfMissing("playlist_purge", "playlist_id BIGINT NOT NULL PRIMARY KEY");
+		addColumnIfMissing("playlist_song", "added_at", "TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6)");
+		createIndexIfMissing("playlist_song", "idx_playlist_song_added", "playlist_id, added_at, song_id");
+		addColumnIfMissing("playlist_song", "song_title", "VARCHAR(255)");
+		addColumnIfMissing("playlist_song", "song_album", "VARCHAR(255)");
+		addColumnIfMissing("playlist_song", "song_artist", "VARCHAR(255)");
+		createIndexIfMissing("playlist_song", "idx_playlist_song_title", "playlist_id, song_title, song_id");
+		createIndexIfMissing("playlist_song", "idx_playlist_song_album", "playlist_id, song_album, song_id");
+		createIndexIfMissing("playlist_song", "idx_playlist_song_artist", "playlist_id, song_artist, song_id");
+		createTableIfMissing("library_change", "change_id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT NOT NULL, "
+				+ "change_type VARCHAR(32) NOT NULL, playlist_id BIGINT, song_id BIGINT, "
+				+ "changed_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6)");
+		createIndexIfMissing("library_change", "idx_library_change_user", "user_id, change_id");
+		createTableIfMissing("user_view", "user_id BIGINT NOT NULL PRIMARY KEY, version BIGINT NOT NULL, "
+				+ "content_encoding VARCHAR(16) NOT NULL, body LONGBLOB NOT NULL");
+		migrateSongDurations();
+		backfillPlaylistAggregates();
+		backfillPlaylistSongSortKeys();
+	}
+
+	private void migrateSongDurations() {
+		if(!columnExists("song", "song_duration")) {
+			return;
+		}
+		List<Object[]> durations = new ArrayList<>();
+		List<Long> unparseableSongIds = new ArrayList<>();
+		jdbcTemplate.query(
+				"SELECT song_id, song_duration FROM song WHERE song_duration IS NOT NULL AND song_duration_seconds IS NULL",
+				rs -> {
+					try {
+						durations.add(new Object[] {DurationMapper.parseSeconds(rs.getString("song_duration")), rs.getLong("song_id")});
+					} catch(IllegalArgumentException e) {
+						unparseableSongIds.add(rs.getLong("song_id"));
+					}
+				});
+		jdbcTemplate.batchUpdate("UPDATE song SET song_duration_seconds = ? WHERE song_id = ?", durations);
+		if(unparseableSongIds.isEmpty()) {
+			jdbcTemplate.execute("ALTER TABLE song DROP COLUMN song_duration");
+			log.info("Converted {} song durations to seconds and dropped song.song_duration.", durations.size());
+		} else {
+			log.warn("Converted {} song durations to seconds; kept song.song_duration because songs {} could not be parsed.",
+					durations.size(), unparseableSongIds);
+		}
+	}
+
+	private void backfillPlaylistAggregates() {
+		int playlists = jdbcTemplate.update(
+				"UPDATE playlist SET song_count = (SELECT COUNT(*) FROM playlist_song ps WHERE ps.playlist_id = playlist.playlist_id), "
+						+ "total_duration_seconds = (SELECT COALESCE(SUM(s.song_duration_seconds), 0) FROM playlist_song ps "
+						+ "JOIN song s ON s.song_id = ps.song_id WHERE ps.playlist_id = playlist.playlist_id) "
+						+ "WHERE song_count = 0 AND EXISTS (SELECT 1 FROM playlist_song ps WHERE ps.playlist_id = playlist.playlist_id)");
+		if(playlists > 0) {
+			log.info("Backfilled song count and duration of {} playlists.", playlists);
+		}
+	}
+
+	private void backfillPlaylistSongSortKeys() {
+		int links = jdbcTemplate.update(
+				"UPDATE playlist_song SET "
+						+ "song_title = (SELECT s.song_title FROM song s WHERE s.song_id = playlist_song.song_id), "
+						+ "song_album = (SELECT s.song_album FROM song s WHERE s.song_id = playlist_song.song_id), "
+						+ "song_artist = (SELECT s.song_artist FROM song s WHERE s.song_id = playlist_song.song_id) "
+						+ "WHERE song_title IS NULL AND song_album IS NULL AND song_artist IS NULL");
+		if(links > 0) {
+			log.info("Copied song sort keys to {} playlist links.", links);
+		}
+	}
+
+	private void alignIdTable(String idTable, String table, String idColumn) {
+		if(!tableExists(idTable)) {
+			return;
+		}
+		Long maxId = jdbcTemplate.queryForObject(
+				"SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table, Long.class);
+		long nextValue = maxId + ID_ALLOCATION_SIZE + 1;
+		Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + idTable, Integer.class);
+		if(rows == 0) {
+			jdbcTemplate.update("INSERT INTO " + idTable + " (next_val) VALUES (?)", nextValue);
+		} else if(jdbcTemplate.update(
+				"UPDATE " + idTable + " SET next_val = ? WHERE next_val < ?", nextValue, nextValue) > 0) {
+			log.info("Moved {} past existing {} IDs to {}.", idTable, table, nextValue);
+		}
+	}
+
+	private void addColumnIfMissing(String table, String column, String definition) {
+		if(!columnExists(table, column)) {
+			jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+			log.info("Added column {}.{}.", table, column);
+		}
+	}
+
+	private void createTableIfMissing(String table, String definition) {
+		if(!tableExists(table)) {
+			jdbcTemplate.execute("CREATE TABLE " + table + " (" + definition + ")");
+			log.info("Created table {}.", table);
+		}
+	}
+
+	private void createIndexIfMissing(String table, String index, String columns) {
+		if(!indexExists(table, index)) {
+			jdbcTemplate.execute("CREATE INDEX " + index + " ON " + table + " (" + columns + ")");
+			log.info("Created index {} on {}.", index, table);
+		}
+	}
+
+	private boolean indexExists(String table, String index) {
+		return jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+			try(ResultSet indexes = connection.getMetaData().getIndexInfo(
+					connection.getCatalog(), null, table, false, false)) {
+				while(indexes.next()) {
+					if(index.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+						return true;
+					}
+				}
+				return false;
+			}
+		});
+	}
+
+	private boolean columnExists(String table, String column) {
+		return jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+			try(ResultSet columns = connection.getMetaData().getColumns(
+					connection.getCatalog(), null, table, column)) {
+				return columns.next();
+			}
+		});
+	}
+
+	private boolean tableExists(String table) {
+		return jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+			try(ResultSet tables = connection.getMetaData().getTables(
+					connection.getCatalog(), null, table, new String[] {"TABLE"})) {
+				return tables.next();
+			}
+		});
+	}
+}
@@ -1,18 +1,24 @@
 package music.app.dao;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
 import music.app.entity.Song;
 
 public interface SongDao extends JpaRepository<Song, Long> {
 
 	@EntityGraph(attributePaths = {"playlists"})
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	@Query("SELECT DISTINCT s FROM Song s WHERE s.songId = :songId")
 	Optional<Song> findSongBySongId(@Param("songId") Long songId);
 
@@ -20,6 +26,22 @@ public interface SongDao extends JpaRepository<Song, Long> {
 	@Query("SELECT DISTINCT s FROM Song s ")
 	List<Song> findAllSongsWithPlaylists();
 
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")})
+	@Query("SELECT s FROM Song s ORDER BY s.songId")
+	Stream<Song> streamAllSongs();
+
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")})
+	@Query("SELECT new music.app.dao.SongSummary(s.songId, s.songTitle, s.songArtist, s.songAlbum) FROM Song s")
+	Stream<SongSummary> streamAllSongSummaries();
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	Optional<Song> findBySongTitleAndSongAlbumAndSongArtist(String songTitle, String songAlbum, String songArtist);
 
+	List<Song> findBySongTitleIn(Collection<String> songTitles);
+
 }
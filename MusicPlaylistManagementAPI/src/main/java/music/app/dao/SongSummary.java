@@ -0,0 +1,4 @@
+package music.app.dao;
+
+public record SongSummary(Long songId, String songTitle, String songArtist, String songAlbum) {
+}
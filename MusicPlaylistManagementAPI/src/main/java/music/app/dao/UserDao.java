@@ -2,12 +2,17 @@ package music.app.dao;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
 import music.app.entity.User;
 
 public interface UserDao extends JpaRepository<User, Long> {
@@ -19,9 +24,23 @@ public interface UserDao extends JpaRepository<User, Long> {
 	@Query("SELECT DISTINCT u FROM User u ")
 	List<User> findAllUsersWithPlaylistsAndSongs();
 
+	@Query("SELECT u FROM User u WHERE u.userId > :afterUserId ORDER BY u.userId")
+	List<User> findUsersAfter(@Param("afterUserId") Long afterUserId, Limit limit);
+
 	@EntityGraph(attributePaths = {"playlists", "playlists.songs"})
 	@Query("SELECT DISTINCT u FROM User u WHERE u.userId = :userId")
 	Optional<User> findUserWithPlaylistsAndSongsByUserId(@Param("userId") Long userId);
 
+	@EntityGraph(attributePaths = {"playlists"})
+	@Query("SELECT DISTINCT u FROM User u WHERE u.userId = :userId")
+	Optional<User> findUserWithPlaylistsByUserId(@Param("userId") Long userId);
+
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")})
+	@Query("SELECT u FROM User u ORDER BY u.userId")
+	Stream<User> streamAllUsers();
+
 	Optional<User> findByUserName(String userName);
 }
@@ -0,0 +1,4 @@
+package music.app.dao;
+
+public record UserView(long version, String contentEncoding, byte[] body) {
+}
@@ -0,0 +1,38 @@
+package music.app.dao;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class UserViewDao {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	public Optional<UserView> findUserView(Long userId, long version) {
+		return jdbcTemplate.query(
+				"SELECT version, content_encoding, body FROM user_view WHERE user_id = ? AND version = ?",
+				(rs, rowNum) -> new UserView(rs.getLong("version"), rs.getString("content_encoding"), rs.getBytes("body")),
+				userId, version).stream().findFirst();
+	}
+
+	public Optional<Long> findVersion(Long userId) {
+		return jdbcTemplate.queryForList(
+				"SELECT version FROM user_view WHERE user_id = ?", Long.class, userId).stream().findFirst();
+	}
+
+	public void save(Long userId, UserView view) {
+		jdbcTemplate.update(
+				"INSERT INTO user_view (user_id, version, content_encoding, body) VALUES (?, ?, ?, ?) "
+						+ "ON DUPLICATE KEY UPDATE version = VALUES(version), "
+						+ "content_encoding = VALUES(content_encoding), body = VALUES(body)",
+				userId, view.version(), view.contentEncoding(), view.body());
+	}
+
+	public int delete(Long userId) {
+		return jdbcTemplate.update("DELETE FROM user_view WHERE user_id = ?", userId);
+	}
+}
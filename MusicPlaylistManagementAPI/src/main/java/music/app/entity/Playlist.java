@@ -3,7 +3,13 @@ package music.app.entity;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -12,25 +18,36 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
 @Entity
 @Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Playlist {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "playlist_seq")
+	@SequenceGenerator(name = "playlist_seq", sequenceName = "playlist_seq", allocationSize = 50)
 	@EqualsAndHashCode.Include
 	private Long playlistId;
 	private String playlistTitle;
 	private String imageUrl;
+	@ColumnDefault("0")
+	@Column(nullable = false, insertable = false, updatable = false)
+	private int songCount;
+	@ColumnDefault("0")
+	@Column(nullable = false, insertable = false, updatable = false)
+	private long totalDurationSeconds;
 	@ManyToOne
 	@JoinColumn(name = "user_id")
 	private User user;
 	@EqualsAndHashCode.Exclude
 	@ToString.Exclude
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 	@ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
 	@JoinTable(name = "playlist_song",
 			joinColumns = @JoinColumn(name = "playlist_id"),
@@ -3,30 +3,39 @@ package music.app.entity;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
 @Entity
 @Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Song {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "song_seq")
+	@SequenceGenerator(name = "song_seq", sequenceName = "song_seq", allocationSize = 50)
 	@EqualsAndHashCode.Include
 	private Long songId;
 	private String songTitle;
 	private String songAlbum;
-	private String songDuration;
+	private Integer songDurationSeconds;
 	private String songArtist;
 	@EqualsAndHashCode.Exclude
 	@ToString.Exclude
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 	@ManyToMany(mappedBy = "songs", cascade = {CascadeType.PERSIST, CascadeType.MERGE})
 	private Set<Playlist> playlists = new HashSet<>();
 
@@ -0,0 +1,52 @@
+package music.app.monitor;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+@Component
+public class EntityLoadStatisticsListener implements PostLoadEventListener, InitializeCollectionEventListener {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Value("${music.app.sql-stats.enabled:true}")
+	private boolean enabled;
+
+	@PostConstruct
+	public void register() {
+		if(enabled) {
+			EventListenerRegistry registry = entityManagerFactory
+					.unwrap(SessionFactoryImplementor.class)
+					.getServiceRegistry()
+					.requireService(EventListenerRegistry.class);
+			registry.appendListeners(EventType.POST_LOAD, this);
+			registry.appendListeners(EventType.INIT_COLLECTION, this);
+		}
+	}
+
+	@Override
+	public void onPostLoad(PostLoadEvent event) {
+		SqlStatistics statistics = SqlStatistics.current();
+		if(statistics != null) {
+			statistics.entityLoaded();
+		}
+	}
+
+	@Override
+	public void onInitializeCollection(InitializeCollectionEvent event) {
+		SqlStatistics statistics = SqlStatistics.current();
+		if(statistics != null) {
+			statistics.collectionLoaded();
+		}
+	}
+}
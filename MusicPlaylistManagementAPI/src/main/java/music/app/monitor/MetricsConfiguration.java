@@ -0,0 +1,20 @@
+package music.app.monitor;
+
+import org.hibernate.cfg.StatisticsSettings;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MetricsConfiguration {
+
+	@Bean
+	public HibernatePropertiesCustomizer queryTimingStatistics(ObjectProvider<MeterRegistry> meterRegistry) {
+		StatisticsFactory statisticsFactory = sessionFactory -> new QueryTimingStatistics(sessionFactory, meterRegistry);
+		return properties -> properties.put(StatisticsSettings.STATS_BUILDER, statisticsFactory);
+	}
+}
@@ -0,0 +1,39 @@
+package music.app.monitor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.springframework.beans.factory.ObjectProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Hibernate statistics that also time each HQL/JPQL execution as {@code hibernate.query.execution},
+ * tagged with the query. Hibernate reports whole milliseconds only.
+ */
+class QueryTimingStatistics extends StatisticsImpl {
+
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+	private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+	QueryTimingStatistics(SessionFactoryImplementor sessionFactory, ObjectProvider<MeterRegistry> meterRegistry) {
+		super(sessionFactory);
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public void queryExecuted(String hql, int rows, long time) {
+		super.queryExecuted(hql, rows, time);
+		if(hql != null) {
+			timers.computeIfAbsent(hql, query -> Timer.builder("hibernate.query.execution")
+					.description("Execution time of HQL/JPQL queries")
+					.tag("query", query)
+					.register(meterRegistry.getObject()))
+					.record(time, TimeUnit.MILLISECONDS);
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package music.app.monitor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Upper bound on the JDBC statements, and optionally entities, that one request to the annotated
+ * handler may execute. The bound must not depend on the amount of data involved.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+	int statements();
+
+	int entities() default Integer.MAX_VALUE;
+}
@@ -0,0 +1,61 @@
+package music.app.monitor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import lombok.Getter;
+
+@Getter
+public class SqlStatistics {
+
+	private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+	private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+
+	private int statements;
+	private long rows;
+	private int entitiesLoaded;
+	private int collectionsLoaded;
+	private String mostRepeatedStatement;
+	private int mostRepeatedCount;
+	private final Map<String, Integer> statementCounts = new HashMap<>();
+
+	public static SqlStatistics begin() {
+		SqlStatistics statistics = new SqlStatistics();
+		CURRENT.set(statistics);
+		return statistics;
+	}
+
+	public static void end() {
+		CURRENT.remove();
+	}
+
+	public static SqlStatistics current() {
+		return CURRENT.get();
+	}
+
+	void statementExecuted(String sql) {
+		statements++;
+		if(sql == null) {
+			return;
+		}
+		String normalized = PARAMETER_LIST.matcher(sql).replaceAll("?");
+		int count = statementCounts.merge(normalized, 1, Integer::sum);
+		if(count > mostRepeatedCount) {
+			mostRepeatedCount = count;
+			mostRepeatedStatement = normalized;
+		}
+	}
+
+	void rowRead() {
+		rows++;
+	}
+
+	void entityLoaded() {
+		entitiesLoaded++;
+	}
+
+	void collectionLoaded() {
+		collectionsLoaded++;
+	}
+}
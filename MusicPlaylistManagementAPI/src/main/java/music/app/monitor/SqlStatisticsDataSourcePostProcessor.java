@@ -0,0 +1,101 @@
+package music.app.monitor;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps the application data source so statements and rows are counted against the current
+ * request's {@link SqlStatistics}.
+ */
+@Component
+public class SqlStatisticsDataSourcePostProcessor implements BeanPostProcessor {
+
+	@Value("${music.app.sql-stats.enabled:true}")
+	private boolean enabled;
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if(enabled && bean instanceof DataSource dataSource) {
+			return proxy(DataSource.class, new CountingHandler(dataSource, null));
+		}
+		return bean;
+	}
+
+	private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+		return type.cast(Proxy.newProxyInstance(SqlStatisticsDataSourcePostProcessor.class.getClassLoader(),
+				new Class<?>[] {type}, handler));
+	}
+
+	private static class CountingHandler implements InvocationHandler {
+
+		private final Object target;
+		private final String sql;
+
+		CountingHandler(Object target, String sql) {
+			this.target = target;
+			this.sql = sql;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			if(name.equals("unwrap") || name.equals("isWrapperFor")) {
+				Class<?> type = (Class<?>) args[0];
+				if(type.isInstance(proxy) && !type.isInstance(target)) {
+					return name.equals("unwrap") ? proxy : true;
+				}
+			}
+			Object result;
+			try {
+				result = method.invoke(target, args);
+			} catch(InvocationTargetException e) {
+				throw e.getCause();
+			}
+			SqlStatistics statistics = SqlStatistics.current();
+			if(target instanceof ResultSet) {
+				if(statistics != null && name.equals("next") && Boolean.TRUE.equals(result)) {
+					statistics.rowRead();
+				}
+				return result;
+			}
+			if(target instanceof Statement && name.startsWith("execute") && statistics != null) {
+				statistics.statementExecuted(args != null && args.length > 0 && args[0] instanceof String query ?
+						query : sql);
+			}
+			return wrap(result, args);
+		}
+
+		private Object wrap(Object result, Object[] args) {
+			String statementSql = args != null && args.length > 0 && args[0] instanceof String query ? query : null;
+			if(result instanceof Connection connection) {
+				return proxy(Connection.class, new CountingHandler(connection, null));
+			}
+			if(result instanceof CallableStatement statement) {
+				return proxy(CallableStatement.class, new CountingHandler(statement, statementSql));
+			}
+			if(result instanceof PreparedStatement statement) {
+				return proxy(PreparedStatement.class, new CountingHandler(statement, statementSql));
+			}
+			if(result instanceof Statement statement) {
+				return proxy(Statement.class, new CountingHandler(statement, null));
+			}
+			if(result instanceof ResultSet resultSet) {
+				return proxy(ResultSet.class, new CountingHandler(resultSet, null));
+			}
+			return result;
+		}
+	}
+}
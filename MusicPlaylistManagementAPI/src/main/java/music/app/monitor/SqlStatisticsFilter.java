@@ -0,0 +1,196 @@
+package music.app.monitor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records the SQL work of each request as metrics and logs likely N+1s and {@link SqlBudget}
+ * overruns. With {@code music.app.sql-stats.response-headers} the counts are also returned as
+ * {@code X-SQL-*} headers.
+ */
+@Component
+@Slf4j
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+	public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+	public static final String ROWS_HEADER = "X-SQL-Rows";
+	public static final String ENTITIES_HEADER = "X-SQL-Entities";
+	public static final String COLLECTIONS_HEADER = "X-SQL-Collections";
+	public static final String REPEATED_HEADER = "X-SQL-Max-Repeated";
+	public static final String BUDGET_HEADER = "X-SQL-Budget";
+	public static final String BUDGET_EXCEEDED_HEADER = "X-SQL-Budget-Exceeded";
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+	@Value("${music.app.sql-stats.enabled:true}")
+	private boolean enabled;
+	@Value("${music.app.sql-stats.response-headers:false}")
+	private boolean responseHeaders;
+	@Value("${music.app.sql-stats.repeated-statement-threshold:10}")
+	private int repeatedStatementThreshold;
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !enabled;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		SqlStatistics statistics = SqlStatistics.begin();
+		StatisticsHeaderResponse wrappedResponse = new StatisticsHeaderResponse(request, response, statistics);
+		try {
+			chain.doFilter(request, responseHeaders ? wrappedResponse : response);
+		} finally {
+			SqlStatistics.end();
+			if(responseHeaders && !response.isCommitted()) {
+				wrappedResponse.writeHeaders();
+			}
+			record(request, response, statistics);
+		}
+	}
+
+	private void record(HttpServletRequest request, HttpServletResponse response, SqlStatistics statistics) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN");
+		Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN",
+				"status", Integer.toString(response.getStatus()));
+		summary("music.app.request.sql.statements", "JDBC statements executed per request", tags)
+				.record(statistics.getStatements());
+		summary("music.app.request.sql.rows", "JDBC result set rows read per request", tags)
+				.record(statistics.getRows());
+		summary("music.app.request.sql.entities", "Entities loaded into the persistence context per request", tags)
+				.record(statistics.getEntitiesLoaded());
+		summary("music.app.request.sql.collections", "Lazy collections initialized per request", tags)
+				.record(statistics.getCollectionsLoaded());
+		if(statistics.getMostRepeatedCount() >= repeatedStatementThreshold) {
+			counter("music.app.request.sql.repeated", "Requests that repeated one statement past the threshold",
+					tags).increment();
+			log.warn("Possible N+1 in {}: statement executed {} times: {}", endpoint,
+					statistics.getMostRepeatedCount(), statistics.getMostRepeatedStatement());
+		}
+		String exceeded = budgetExceeded(request, statistics);
+		if(exceeded != null) {
+			counter("music.app.request.sql.budget.exceeded", "Requests that exceeded their SQL budget", tags)
+					.increment();
+			log.warn("SQL budget exceeded in {}: {}", endpoint, exceeded);
+		}
+	}
+
+	private DistributionSummary summary(String name, String description, Tags tags) {
+		return DistributionSummary.builder(name).description(description).tags(tags).register(meterRegistry);
+	}
+
+	private Counter counter(String name, String description, Tags tags) {
+		return Counter.builder(name).description(description).tags(tags).register(meterRegistry);
+	}
+
+	private static SqlBudget findBudget(HttpServletRequest request) {
+		Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+		return handler instanceof HandlerMethod handlerMethod ? handlerMethod.getMethodAnnotation(SqlBudget.class)
+				: null;
+	}
+
+	private static String budgetExceeded(HttpServletRequest request, SqlStatistics statistics) {
+		SqlBudget budget = findBudget(request);
+		if(budget == null) {
+			return null;
+		}
+		if(statistics.getStatements() > budget.statements()) {
+			return "statements " + statistics.getStatements() + " > " + budget.statements();
+		}
+		if(statistics.getEntitiesLoaded() > budget.entities()) {
+			return "entities " + statistics.getEntitiesLoaded() + " > " + budget.entities();
+		}
+		return null;
+	}
+
+	private static class StatisticsHeaderResponse extends HttpServletResponseWrapper {
+
+		private final HttpServletRequest request;
+		private final SqlStatistics statistics;
+		private boolean headersWritten;
+
+		StatisticsHeaderResponse(HttpServletRequest request, HttpServletResponse response, SqlStatistics statistics) {
+			super(response);
+			this.request = request;
+			this.statistics = statistics;
+		}
+
+		void writeHeaders() {
+			HttpServletResponse response = (HttpServletResponse) getResponse();
+			if(headersWritten || response.isCommitted()) {
+				return;
+			}
+			headersWritten = true;
+			response.setHeader(STATEMENTS_HEADER, Integer.toString(statistics.getStatements()));
+			response.setHeader(ROWS_HEADER, Long.toString(statistics.getRows()));
+			response.setHeader(ENTITIES_HEADER, Integer.toString(statistics.getEntitiesLoaded()));
+			response.setHeader(COLLECTIONS_HEADER, Integer.toString(statistics.getCollectionsLoaded()));
+			response.setHeader(REPEATED_HEADER, Integer.toString(statistics.getMostRepeatedCount()));
+			SqlBudget budget = findBudget(request);
+			if(budget != null) {
+				response.setHeader(BUDGET_HEADER, Integer.toString(budget.statements()));
+				String exceeded = budgetExceeded(request, statistics);
+				if(exceeded != null) {
+					response.setHeader(BUDGET_EXCEEDED_HEADER, exceeded);
+				}
+			}
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			writeHeaders();
+			return super.getOutputStream();
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			writeHeaders();
+			return super.getWriter();
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			writeHeaders();
+			super.flushBuffer();
+		}
+
+		@Override
+		public void sendError(int sc, String msg) throws IOException {
+			writeHeaders();
+			super.sendError(sc, msg);
+		}
+
+		@Override
+		public void sendError(int sc) throws IOException {
+			writeHeaders();
+			super.sendError(sc);
+		}
+
+		@Override
+		public void sendRedirect(String location) throws IOException {
+			writeHeaders();
+			super.sendRedirect(location);
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package music.app.monitor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times physical transactions as {@code music.app.transaction}, tagged with the transaction name,
+ * read-only flag and outcome.
+ */
+@Component
+public class TransactionMetricsListener implements TransactionExecutionListener {
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final Map<TransactionExecution, Timer.Sample> inFlight = new ConcurrentHashMap<>();
+
+	@Override
+	public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+		if(beginFailure == null) {
+			inFlight.put(transaction, Timer.start(meterRegistry));
+		}
+	}
+
+	@Override
+	public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+		stop(transaction, commitFailure == null ? "commit" : "commit-failed");
+	}
+
+	@Override
+	public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+		stop(transaction, rollbackFailure == null ? "rollback" : "rollback-failed");
+	}
+
+	private void stop(TransactionExecution transaction, String outcome) {
+		Timer.Sample sample = inFlight.remove(transaction);
+		if(sample != null) {
+			sample.stop(Timer.builder("music.app.transaction")
+					.description("Duration of physical transactions from begin to completion")
+					.tag("name", String.valueOf(transaction.getTransactionName()))
+					.tag("read-only", Boolean.toString(transaction.isReadOnly()))
+					.tag("outcome", outcome)
+					.register(meterRegistry));
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package music.app.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManagerFactory;
+import music.app.controller.model.CacheRegionStatsDto;
+import music.app.controller.model.CacheStatsDto;
+import music.app.entity.Playlist;
+import music.app.entity.Song;
+import music.app.entity.User;
+
+@Service
+public class CacheService {
+
+	private static final String PLAYLIST_SONGS_ROLE = Playlist.class.getName() + ".songs";
+	private static final String SONG_PLAYLISTS_ROLE = Song.class.getName() + ".playlists";
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	public void evictMemberships(Collection<Long> playlistIds, Collection<Long> songIds) {
+		List<Long> playlistIdsToEvict = List.copyOf(playlistIds);
+		List<Long> songIdsToEvict = List.copyOf(songIds);
+		evictNowAndAfterCompletion(cache -> {
+			playlistIdsToEvict.forEach(playlistId -> cache.evictCollectionData(PLAYLIST_SONGS_ROLE, playlistId));
+			songIdsToEvict.forEach(songId -> cache.evictCollectionData(SONG_PLAYLISTS_ROLE, songId));
+			cache.evictQueryRegions();
+		});
+	}
+
+	public void evictPlaylists(Collection<Long> playlistIds) {
+		List<Long> playlistIdsToEvict = List.copyOf(playlistIds);
+		evictNowAndAfterCompletion(cache -> playlistIdsToEvict.forEach(
+				playlistId -> cache.evictEntityData(Playlist.class, playlistId)));
+	}
+
+	public void evictDeletedPlaylists(Collection<Long> playlistIds) {
+		List<Long> playlistIdsToEvict = List.copyOf(playlistIds);
+		evictNowAndAfterCompletion(cache -> {
+			playlistIdsToEvict.forEach(playlistId -> {
+				cache.evictEntityData(Playlist.class, playlistId);
+				cache.evictCollectionData(PLAYLIST_SONGS_ROLE, playlistId);
+			});
+			cache.evictCollectionData(SONG_PLAYLISTS_ROLE);
+			cache.evictQueryRegions();
+		});
+	}
+
+	public void evictUser(Long userId) {
+		evictNowAndAfterCompletion(cache -> cache.evictEntityData(User.class, userId));
+	}
+
+	public void evictSong(Long songId) {
+		evictNowAndAfterCompletion(cache -> cache.evictEntityData(Song.class, songId));
+	}
+
+	public void evictAllSongPlaylists() {
+		evictNowAndAfterCompletion(cache -> cache.evictCollectionData(SONG_PLAYLISTS_ROLE));
+	}
+
+	public CacheStatsDto getStatistics() {
+		Statistics statistics = getSessionFactory().getStatistics();
+		CacheStatsDto cacheStatsDto = new CacheStatsDto();
+		cacheStatsDto.setSecondLevelCacheHitCount(statistics.getSecondLevelCacheHitCount());
+		cacheStatsDto.setSecondLevelCacheMissCount(statistics.getSecondLevelCacheMissCount());
+		cacheStatsDto.setSecondLevelCachePutCount(statistics.getSecondLevelCachePutCount());
+		cacheStatsDto.setQueryCacheHitCount(statistics.getQueryCacheHitCount());
+		cacheStatsDto.setQueryCacheMissCount(statistics.getQueryCacheMissCount());
+		cacheStatsDto.setQueryCachePutCount(statistics.getQueryCachePutCount());
+		Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+				.sorted()
+				.forEach(regionName -> {
+					CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+					if(region != null) {
+						cacheStatsDto.getRegions().add(new CacheRegionStatsDto(regionName,
+								region.getHitCount(), region.getMissCount(), region.getPutCount()));
+					}
+				});
+		return cacheStatsDto;
+	}
+
+	private void evictNowAndAfterCompletion(Consumer<Cache> eviction) {
+		Cache cache = getSessionFactory().getCache();
+		eviction.accept(cache);
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					eviction.accept(cache);
+				}
+			});
+		}
+	}
+
+	private SessionFactory getSessionFactory() {
+		return entityManagerFactory.unwrap(SessionFactory.class);
+	}
+}
@@ -0,0 +1,74 @@
+package music.app.service;
+
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import music.app.controller.model.SongPageCursor;
+import music.app.controller.model.SongPageDto;
+import music.app.dao.PlaylistSongPageVersion;
+import music.app.dao.PlaylistSongSort;
+import music.app.service.event.PlaylistSongsChangedEvent;
+import music.app.service.event.SongChangedEvent;
+import music.app.service.event.SongDeletedEvent;
+
+/**
+ * Single-flight front for playlist song page reads and their versions. Concurrent requests for the
+ * same page share one load and its result, which is never kept after the load completes. The
+ * version carries the playlist owner for the caller's ownership check. In-flight loads are detached
+ * when a playlist or song change commits.
+ */
+@Service
+public class CoalescingReadService {
+
+	@Autowired
+	private MusicAppService musicAppService;
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private SingleFlight<PlaylistSongsPage, SongPageDto> playlistSongs;
+	private SingleFlight<PlaylistSongsPage, PlaylistSongPageVersion> playlistSongsVersions;
+
+	private record PlaylistSongsPage(Long playlistId, PlaylistSongSort sort, SongPageCursor cursor, int limit) {
+	}
+
+	@PostConstruct
+	public void init() {
+		playlistSongs = new SingleFlight<>("playlist.songs", meterRegistry);
+		playlistSongsVersions = new SingleFlight<>("playlist.songs.version", meterRegistry);
+	}
+
+	public PlaylistSongPageVersion getPlaylistSongsVersion(Long playlistId, PlaylistSongSort sort, SongPageCursor cursor,
+			int limit) {
+		return playlistSongsVersions.load(new PlaylistSongsPage(playlistId, sort, cursor, limit),
+				() -> musicAppService.findPlaylistSongsVersion(playlistId, sort, cursor, limit));
+	}
+
+	public SongPageDto getPlaylistSongsPage(Long playlistId, PlaylistSongSort sort, SongPageCursor cursor, int limit) {
+		return playlistSongs.load(new PlaylistSongsPage(playlistId, sort, cursor, limit),
+				() -> musicAppService.getPlaylistSongsPage(playlistId, sort, cursor, limit));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPlaylistSongsChanged(PlaylistSongsChangedEvent event) {
+		Set<Long> playlistIds = Set.copyOf(event.playlistIds());
+		playlistSongs.forgetIf(page -> playlistIds.contains(page.playlistId()));
+		playlistSongsVersions.forgetIf(page -> playlistIds.contains(page.playlistId()));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onSongChanged(SongChangedEvent event) {
+		playlistSongs.forgetAll();
+		playlistSongsVersions.forgetAll();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onSongDeleted(SongDeletedEvent event) {
+		playlistSongs.forgetAll();
+		playlistSongsVersions.forgetAll();
+	}
+}
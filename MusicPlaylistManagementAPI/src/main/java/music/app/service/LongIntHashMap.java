@@ -0,0 +1,126 @@
+package music.app.service;
+
+/**
+ * Open-addressing map from non-zero {@code long} keys to {@code int} values. Entries whose value
+ * reaches zero are removed.
+ */
+final class LongIntHashMap {
+
+	@FunctionalInterface
+	interface EntryConsumer {
+		void accept(long key, int value);
+	}
+
+	private long[] keys;
+	private int[] values;
+	private int size;
+
+	LongIntHashMap() {
+		this(4);
+	}
+
+	LongIntHashMap(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+		keys = new long[capacity];
+		values = new int[capacity];
+	}
+
+	int size() {
+		return size;
+	}
+
+	int get(long key) {
+		int slot = find(key);
+		return slot >= 0 ? values[slot] : 0;
+	}
+
+	int addTo(long key, int delta) {
+		if(key == 0) {
+			throw new IllegalArgumentException("Key must not be zero.");
+		}
+		int mask = keys.length - 1;
+		int slot = mix(key) & mask;
+		while(keys[slot] != 0) {
+			if(keys[slot] == key) {
+				int value = values[slot] + delta;
+				if(value == 0) {
+					removeSlot(slot);
+				} else {
+					values[slot] = value;
+				}
+				return value;
+			}
+			slot = (slot + 1) & mask;
+		}
+		if(delta == 0) {
+			return 0;
+		}
+		keys[slot] = key;
+		values[slot] = delta;
+		if(++size * 4 > keys.length * 3) {
+			resize(keys.length << 1);
+		}
+		return delta;
+	}
+
+	void forEach(EntryConsumer consumer) {
+		for(int slot = 0; slot < keys.length; slot++) {
+			if(keys[slot] != 0) {
+				consumer.accept(keys[slot], values[slot]);
+			}
+		}
+	}
+
+	private int find(long key) {
+		int mask = keys.length - 1;
+		int slot = mix(key) & mask;
+		while(keys[slot] != 0) {
+			if(keys[slot] == key) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	private void removeSlot(int slot) {
+		int mask = keys.length - 1;
+		int free = slot;
+		int next = (free + 1) & mask;
+		while(keys[next] != 0) {
+			int home = mix(keys[next]) & mask;
+			if(((next - home) & mask) >= ((next - free) & mask)) {
+				keys[free] = keys[next];
+				values[free] = values[next];
+				free = next;
+			}
+			next = (next + 1) & mask;
+		}
+		keys[free] = 0;
+		values[free] = 0;
+		size--;
+	}
+
+	private void resize(int capacity) {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		keys = new long[capacity];
+		values = new int[capacity];
+		int mask = capacity - 1;
+		for(int i = 0; i < oldKeys.length; i++) {
+			if(oldKeys[i] != 0) {
+				int slot = mix(oldKeys[i]) & mask;
+				while(keys[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	static int mix(long key) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32));
+	}
+}
@@ -0,0 +1,122 @@
+package music.app.service;
+
+/**
+ * Open-addressing map from non-zero {@code long} keys to objects, the companion of
+ * {@link LongIntHashMap} for per-song structures that should not pay for boxed keys.
+ */
+final class LongObjectHashMap<V> {
+
+	@FunctionalInterface
+	interface EntryConsumer<V> {
+		void accept(long key, V value);
+	}
+
+	private long[] keys;
+	private Object[] values;
+	private int size;
+
+	LongObjectHashMap() {
+		this(4);
+	}
+
+	LongObjectHashMap(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+		keys = new long[capacity];
+		values = new Object[capacity];
+	}
+
+	int size() {
+		return size;
+	}
+
+	@SuppressWarnings("unchecked")
+	V get(long key) {
+		int slot = find(key);
+		return slot >= 0 ? (V) values[slot] : null;
+	}
+
+	void put(long key, V value) {
+		if(key == 0) {
+			throw new IllegalArgumentException("Key must not be zero.");
+		}
+		if(value == null) {
+			remove(key);
+			return;
+		}
+		int mask = keys.length - 1;
+		int slot = LongIntHashMap.mix(key) & mask;
+		while(keys[slot] != 0) {
+			if(keys[slot] == key) {
+				values[slot] = value;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = key;
+		values[slot] = value;
+		if(++size * 4 > keys.length * 3) {
+			resize(keys.length << 1);
+		}
+	}
+
+	void remove(long key) {
+		int slot = find(key);
+		if(slot < 0) {
+			return;
+		}
+		int mask = keys.length - 1;
+		int free = slot;
+		int next = (free + 1) & mask;
+		while(keys[next] != 0) {
+			int home = LongIntHashMap.mix(keys[next]) & mask;
+			if(((next - home) & mask) >= ((next - free) & mask)) {
+				keys[free] = keys[next];
+				values[free] = values[next];
+				free = next;
+			}
+			next = (next + 1) & mask;
+		}
+		keys[free] = 0;
+		values[free] = null;
+		size--;
+	}
+
+	@SuppressWarnings("unchecked")
+	void forEach(EntryConsumer<V> consumer) {
+		for(int slot = 0; slot < keys.length; slot++) {
+			if(keys[slot] != 0) {
+				consumer.accept(keys[slot], (V) values[slot]);
+			}
+		}
+	}
+
+	private int find(long key) {
+		int mask = keys.length - 1;
+		int slot = LongIntHashMap.mix(key) & mask;
+		while(keys[slot] != 0) {
+			if(keys[slot] == key) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	private void resize(int capacity) {
+		long[] oldKeys = keys;
+		Object[] oldValues = values;
+		keys = new long[capacity];
+		values = new Object[capacity];
+		int mask = capacity - 1;
+		for(int i = 0; i < oldKeys.length; i++) {
+			if(oldKeys[i] != 0) {
+				int slot = LongIntHashMap.mix(oldKeys[i]) & mask;
+				while(keys[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package music.app.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash/LSH index of song sets. Queries return sets sharing at least one band with the query,
+ * ranked by estimated Jaccard similarity. Not thread-safe.
+ */
+public final class MinHashIndex {
+
+	public record Match(long id, double similarity) {
+	}
+
+	private static final class Bucket {
+
+		private long[] ids = new long[2];
+		private int size;
+
+		void add(long id) {
+			if(size == ids.length) {
+				ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+			}
+			ids[size++] = id;
+		}
+
+		boolean remove(long id) {
+			for(int i = 0; i < size; i++) {
+				if(ids[i] == id) {
+					ids[i] = ids[--size];
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private final int bands;
+	private final int rows;
+	private final long[] multipliers;
+	private final long[] increments;
+	private final LongObjectHashMap<int[]> signatures = new LongObjectHashMap<>();
+	private final LongObjectHashMap<Bucket> buckets = new LongObjectHashMap<>();
+
+	public MinHashIndex(int bands, int rows, long seed) {
+		if(bands < 1 || rows < 1) {
+			throw new IllegalArgumentException("MinHash bands and rows must be positive.");
+		}
+		this.bands = bands;
+		this.rows = rows;
+		SplittableRandom random = new SplittableRandom(seed);
+		multipliers = new long[bands * rows];
+		increments = new long[bands * rows];
+		for(int i = 0; i < multipliers.length; i++) {
+			multipliers[i] = random.nextLong() | 1;
+			increments[i] = random.nextLong();
+		}
+	}
+
+	public int size() {
+		return signatures.size();
+	}
+
+	public void put(long id, long[] members) {
+		remove(id);
+		if(members.length == 0) {
+			return;
+		}
+		int[] signature = signature(members);
+		signatures.put(id, signature);
+		for(int band = 0; band < bands; band++) {
+			long key = bandKey(signature, band);
+			Bucket bucket = buckets.get(key);
+			if(bucket == null) {
+				bucket = new Bucket();
+				buckets.put(key, bucket);
+			}
+			bucket.add(id);
+		}
+	}
+
+	public void remove(long id) {
+		int[] signature = signatures.get(id);
+		if(signature == null) {
+			return;
+		}
+		signatures.remove(id);
+		for(int band = 0; band < bands; band++) {
+			long key = bandKey(signature, band);
+			Bucket bucket = buckets.get(key);
+			if(bucket != null && bucket.remove(id) && bucket.size == 0) {
+				buckets.remove(key);
+			}
+		}
+	}
+
+	public List<Match> query(long id, int limit) {
+		int[] signature = signatures.get(id);
+		if(signature == null) {
+			return List.of();
+		}
+		LongIntHashMap candidates = new LongIntHashMap();
+		for(int band = 0; band < bands; band++) {
+			Bucket bucket = buckets.get(bandKey(signature, band));
+			if(bucket != null) {
+				for(int i = 0; i < bucket.size; i++) {
+					if(bucket.ids[i] != id) {
+						candidates.addTo(bucket.ids[i], 1);
+					}
+				}
+			}
+		}
+		List<Match> matches = new ArrayList<>(candidates.size());
+		candidates.forEach((candidate, sharedBands) -> {
+			int[] candidateSignature = signatures.get(candidate);
+			int agreeing = 0;
+			for(int i = 0; i < signature.length; i++) {
+				if(signature[i] == candidateSignature[i]) {
+					agreeing++;
+				}
+			}
+			matches.add(new Match(candidate, (double) agreeing / signature.length));
+		});
+		matches.sort(Comparator.comparingDouble(Match::similarity).reversed().thenComparingLong(Match::id));
+		return matches.size() > limit ? matches.subList(0, limit) : matches;
+	}
+
+	private int[] signature(long[] members) {
+		int[] signature = new int[multipliers.length];
+		Arrays.fill(signature, Integer.MAX_VALUE);
+		for(long member : members) {
+			for(int i = 0; i < signature.length; i++) {
+				int hash = (int) (mix(member * multipliers[i] + increments[i]) >>> 33);
+				if(hash < signature[i]) {
+					signature[i] = hash;
+				}
+			}
+		}
+		return signature;
+	}
+
+	private long bandKey(int[] signature, int band) {
+		long key = band + 1;
+		for(int i = band * rows; i < (band + 1) * rows; i++) {
+			key = mix(key * 31 + signature[i]);
+		}
+		return key != 0 ? key : 1;
+	}
+
+	private static long mix(long value) {
+		value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+		value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+		return value ^ (value >>> 33);
+	}
+}
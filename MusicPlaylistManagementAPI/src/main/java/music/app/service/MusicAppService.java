@@ -1,28 +1,68 @@
 package music.app.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.hibernate.collection.spi.PersistentCollection;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import music.app.controller.error.DuplicateSongException;
 import music.app.controller.error.DuplicateUserException;
+import music.app.controller.model.LibraryChangeDto;
+import music.app.controller.model.LibraryChangesDto;
+import music.app.controller.model.PageCursor;
 import music.app.controller.model.PlaylistDto;
+import music.app.controller.model.SongDto;
+import music.app.controller.model.SongPageCursor;
+import music.app.controller.model.SongPageDto;
 import music.app.controller.model.UserDto;
+import music.app.controller.model.UserPageDto;
+import music.app.dao.AggregateVersionDao;
+import music.app.dao.CascadeDeleteDao;
+import music.app.dao.LibraryChange;
+import music.app.dao.LibraryChangeDao;
+import music.app.dao.LibraryChangeType;
+import music.app.dao.PlaylistAggregateDao;
+import music.app.dao.PlaylistAggregateDelta;
 import music.app.dao.PlaylistDao;
+import music.app.dao.PlaylistSongDao;
+import music.app.dao.PlaylistSongLink;
+import music.app.dao.PlaylistSongPageVersion;
+import music.app.dao.PlaylistSongRow;
+import music.app.dao.PlaylistSongSort;
 import music.app.dao.SongDao;
+import music.app.dao.SongSummary;
 import music.app.dao.UserDao;
+import music.app.dao.UserViewDao;
 import music.app.entity.Playlist;
 import music.app.entity.Song;
 import music.app.entity.User;
+import music.app.service.event.PlaylistSongsChangedEvent;
+import music.app.service.event.SongChangedEvent;
+import music.app.service.event.SongDeletedEvent;
+import music.app.service.event.SongsAddedToPlaylistEvent;
 
 @Service
+@Timed(value = "music.app.service", description = "Duration of service method calls")
 public class MusicAppService {
 
 	@Autowired
@@ -31,6 +71,26 @@ public class MusicAppService {
 	private PlaylistDao playlistDao;
 	@Autowired
 	private SongDao songDao;
+	@Autowired
+	private PlaylistSongDao playlistSongDao;
+	@Autowired
+	private PlaylistAggregateDao playlistAggregateDao;
+	@Autowired
+	private CascadeDeleteDao cascadeDeleteDao;
+	@Autowired
+	private LibraryChangeDao libraryChangeDao;
+	@Autowired
+	private UserViewDao userViewDao;
+	@Autowired
+	private CacheService cacheService;
+	@Autowired
+	private AggregateVersionDao aggregateVersionDao;
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private static final int EXPORT_CHUNK_SIZE = 500;
 
 	@Transactional(readOnly = true)
 	public List<User> findAllUsers(){
@@ -63,6 +123,8 @@ public class MusicAppService {
 		}
 		existingUser.setUserName(user.getUserName());
 		existingUser.setUserEmail(user.getUserEmail());
+		aggregateVersionDao.bumpUser(userId);
+		libraryChangeDao.recordUserChange(userId, LibraryChangeType.USER_UPDATED);
 		return userDao.save(existingUser);
 	}
 
@@ -72,7 +134,36 @@ public class MusicAppService {
 			throw new NoSuchElementException(
 					"User with ID=" + userId + " does not exist.");
 		}
-		userDao.deleteById(userId);
+		List<Long> playlistIds = playlistDao.findPlaylistIdsByUserId(userId);
+		if(!playlistIds.isEmpty()) {
+			aggregateVersionDao.bumpSongsOfPlaylists(playlistIds);
+			cascadeDeleteDao.deleteLinksOfUser(userId);
+			cascadeDeleteDao.deletePlaylistsOfUser(userId);
+			cacheService.evictDeletedPlaylists(playlistIds);
+		}
+		cascadeDeleteDao.deleteUser(userId);
+		libraryChangeDao.deleteChangesOfUser(userId);
+		userViewDao.delete(userId);
+		cacheService.evictUser(userId);
+		eventPublisher.publishEvent(new PlaylistSongsChangedEvent(playlistIds));
+	}
+
+	@Transactional
+	public void deleteUserByIdAsync(Long userId) {
+		if(!userDao.existsById(userId)) {
+			throw new NoSuchElementException(
+					"User with ID=" + userId + " does not exist.");
+		}
+		List<Long> playlistIds = playlistDao.findPlaylistIdsByUserId(userId);
+		if(!playlistIds.isEmpty()) {
+			cascadeDeleteDao.queuePlaylistsOfUser(userId);
+			cascadeDeleteDao.detachPlaylistsOfUser(userId);
+			cacheService.evictPlaylists(playlistIds);
+		}
+		cascadeDeleteDao.deleteUser(userId);
+		libraryChangeDao.deleteChangesOfUser(userId);
+		userViewDao.delete(userId);
+		cacheService.evictUser(userId);
 	}
 
 	@Transactional(readOnly = true)
@@ -87,7 +178,35 @@ public class MusicAppService {
 
 	@Transactional
 	public Playlist savePlaylist(Playlist playlist) {
-		return playlistDao.save(playlist);
+		boolean created = playlist.getPlaylistId() == null;
+		boolean songsChanged = created
+				|| playlist.getSongs() instanceof PersistentCollection<?> songs && songs.isDirty();
+		if(!created) {
+			aggregateVersionDao.bumpPlaylists(List.of(playlist.getPlaylistId()));
+		}
+		else if(playlist.getUser() != null) {
+			aggregateVersionDao.bumpUser(playlist.getUser().getUserId());
+			aggregateVersionDao.bumpSongs(playlist
+					.getSongs()
+					.stream()
+					.map(Song::getSongId)
+					.collect(Collectors.toSet()));
+		}
+		Playlist savedPlaylist = playlistDao.saveAndFlush(playlist);
+		if(songsChanged) {
+			playlistAggregateDao.recalculate(savedPlaylist.getPlaylistId());
+			playlistSongDao.copySortKeys(savedPlaylist.getPlaylistId());
+		}
+		if(created) {
+			libraryChangeDao.recordPlaylistChange(savedPlaylist.getPlaylistId(), LibraryChangeType.PLAYLIST_CREATED);
+			libraryChangeDao.recordSongsOfPlaylist(savedPlaylist.getPlaylistId(), LibraryChangeType.SONG_ADDED);
+		} else {
+			libraryChangeDao.recordPlaylistChange(savedPlaylist.getPlaylistId(), LibraryChangeType.PLAYLIST_UPDATED);
+		}
+		cacheService.evictPlaylists(List.of(savedPlaylist.getPlaylistId()));
+		eventPublisher.publishEvent(new PlaylistSongsChangedEvent(List.of(savedPlaylist.getPlaylistId())));
+		entityManager.refresh(savedPlaylist);
+		return savedPlaylist;
 	}
 	
 	@Transactional
@@ -104,26 +223,79 @@ public class MusicAppService {
 		existingSong.setSongTitle(song.getSongTitle());
 		existingSong.setSongAlbum(song.getSongAlbum());
 		existingSong.setSongArtist(song.getSongArtist());
-		existingSong.setSongDuration(song.getSongDuration());
-		return songDao.save(existingSong);
+		aggregateVersionDao.bumpPlaylistsContainingSong(songId);
+		libraryChangeDao.recordSongUpdated(songId);
+		playlistSongDao.updateSortKeys(songId, song.getSongTitle(), song.getSongAlbum(), song.getSongArtist());
+		long durationDelta = durationOf(song) - playlistAggregateDao.lockSongDuration(songId);
+		if(durationDelta != 0) {
+			List<Long> playlistIds = cascadeDeleteDao.findPlaylistIdsBySongId(songId);
+			playlistAggregateDao.adjustDurationOfPlaylists(playlistIds, durationDelta);
+			cacheService.evictPlaylists(playlistIds);
+		}
+		existingSong.setSongDurationSeconds(song.getSongDurationSeconds());
+		Song savedSong = songDao.save(existingSong);
+		eventPublisher.publishEvent(new SongChangedEvent(toSummary(savedSong)));
+		return savedSong;
 	}
 
 	@Transactional
 	public void deletePlaylistById(Long playlistId) {
-		Playlist playlist = playlistDao.findById(playlistId)
-				.orElseThrow(() -> new NoSuchElementException(
-						"Playlist with ID=" + playlistId + " does not exist."));
-		for(Song song : new HashSet<>(playlist.getSongs())) {
-			song.getPlaylists().remove(playlist);
+		if(!playlistDao.existsById(playlistId)) {
+			throw new NoSuchElementException(
+					"Playlist with ID=" + playlistId + " does not exist.");
+		}
+		List<Long> playlistIds = List.of(playlistId);
+		aggregateVersionDao.bumpSongsOfPlaylists(playlistIds);
+		aggregateVersionDao.bumpPlaylists(playlistIds);
+		libraryChangeDao.recordPlaylistChange(playlistId, LibraryChangeType.PLAYLIST_DELETED);
+		cascadeDeleteDao.deleteLinksOfPlaylists(playlistIds);
+		cascadeDeleteDao.deletePlaylists(playlistIds);
+		cacheService.evictDeletedPlaylists(playlistIds);
+		eventPublisher.publishEvent(new PlaylistSongsChangedEvent(playlistIds));
+	}
+
+	@Transactional
+	public void deletePlaylistByIdAsync(Long playlistId) {
+		if(!playlistDao.existsById(playlistId)) {
+			throw new NoSuchElementException(
+					"Playlist with ID=" + playlistId + " does not exist.");
 		}
-		playlist.getSongs().clear();
-		User user = playlist.getUser();
-		if(user != null) {
-			user.getPlaylists().remove(playlist);
-			playlist.setUser(null);
+		aggregateVersionDao.bumpPlaylists(List.of(playlistId));
+		libraryChangeDao.recordPlaylistChange(playlistId, LibraryChangeType.PLAYLIST_DELETED);
+		cascadeDeleteDao.queuePlaylist(playlistId);
+		cascadeDeleteDao.detachPlaylist(playlistId);
+		cacheService.evictPlaylists(List.of(playlistId));
+	}
+
+	@Transactional(readOnly = true)
+	public void verifyPlaylistOwner(Long userId, Long playlistId) {
+		Optional<Long> ownerId = playlistDao.findOwnerIdByPlaylistId(playlistId);
+		if(ownerId.isPresent() && ownerId.get().equals(userId)) {
+			return;
+		}
+		if(!userDao.existsById(userId)) {
+			throw new NoSuchElementException(
+					"User with ID=" + userId + " does not exist.");
+		}
+		if(ownerId.isEmpty() && !playlistDao.existsById(playlistId)) {
+			throw new NoSuchElementException(
+					"Playlist with ID=" + playlistId + " does not exist.");
+		}
+		throw new NoSuchElementException(
+				"Playlist with ID=" + playlistId + " does not belong to user with ID=" + userId + ".");
+	}
+
+	@Transactional(readOnly = true)
+	public void verifySongInPlaylist(Long playlistId, Long songId) {
+		if(playlistSongDao.exists(playlistId, songId)) {
+			return;
+		}
+		if(!songDao.existsById(songId)) {
+			throw new NoSuchElementException(
+					"Song with ID=" + songId + " does not exist.");
 		}
-		playlistDao.delete(playlist);
-		
+		throw new NoSuchElementException(
+				"Song with ID=" + songId + " is not in playlist with ID=" + playlistId + ".");
 	}
 
 	@Transactional(readOnly = true)
@@ -135,36 +307,65 @@ public class MusicAppService {
 	}
 
 	@Transactional
-	public Playlist addSong(Long playlistId, Long songId) {
-		Playlist playlist = playlistDao.findPlaylistByPlaylistId(playlistId)
-				.orElseThrow(() -> new NoSuchElementException(
-						"Playlist with ID=" + playlistId + " does not exist."));
-		Song song = songDao.findSongBySongId(songId)
-				.orElseThrow(() -> new NoSuchElementException(
-						"Song with ID=" + songId + " does not exist."));
-		if(!playlist.getSongs().contains(song)) {
-			playlist.getSongs().add(song);
-			song.getPlaylists().add(playlist);
-		}
-		playlistDao.save(playlist);
-		songDao.save(song);
-		return playlist;
+	public PlaylistDto addSong(Long playlistId, Long songId) {
+		return updatePlaylistSongs(playlistId, List.of(songId), List.of());
 	}
 
 	@Transactional
 	public PlaylistDto removeSong(Long playlistId, Long songId) {
+		return updatePlaylistSongs(playlistId, List.of(), List.of(songId));
+	}
+
+	@Transactional
+	public PlaylistDto updatePlaylistSongs(
+			Long playlistId, Collection<Long> songIdsToAdd, Collection<Long> songIdsToRemove) {
+		entityManager.flush();
+		if(!aggregateVersionDao.lockPlaylist(playlistId)) {
+			throw new NoSuchElementException(
+					"Playlist with ID=" + playlistId + " does not exist.");
+		}
+		Set<Long> songIds = new LinkedHashSet<>(songIdsToAdd);
+		songIds.addAll(songIdsToRemove);
+		if(!songIds.isEmpty()) {
+			Map<Long, Long> durations = playlistAggregateDao.findSongDurations(songIds);
+			Set<Long> missingSongIds = new LinkedHashSet<>(songIds);
+			missingSongIds.removeAll(durations.keySet());
+			if(!missingSongIds.isEmpty()) {
+				throw new NoSuchElementException(missingSongIds.size() == 1 ?
+						"Song with ID=" + missingSongIds.iterator().next() + " does not exist." :
+						"Songs with IDs=" + missingSongIds + " do not exist.");
+			}
+			Set<Long> memberSongIds = playlistSongDao.findSongIdsForUpdate(playlistId, songIds);
+			Set<Long> insertedSongIds = new LinkedHashSet<>(songIdsToAdd);
+			insertedSongIds.removeAll(memberSongIds);
+			insertedSongIds.removeAll(songIdsToRemove);
+			Set<Long> deletedSongIds = new LinkedHashSet<>(songIdsToRemove);
+			deletedSongIds.retainAll(memberSongIds);
+			Set<Long> changedSongIds = new LinkedHashSet<>(insertedSongIds);
+			changedSongIds.addAll(deletedSongIds);
+			if(!changedSongIds.isEmpty()) {
+				aggregateVersionDao.bumpPlaylists(List.of(playlistId));
+				aggregateVersionDao.bumpSongs(changedSongIds);
+				playlistSongDao.insertIfAbsent(playlistId, insertedSongIds);
+				playlistSongDao.delete(playlistId, deletedSongIds);
+				libraryChangeDao.recordSongChanges(playlistId, insertedSongIds, LibraryChangeType.SONG_ADDED);
+				libraryChangeDao.recordSongChanges(playlistId, deletedSongIds, LibraryChangeType.SONG_REMOVED);
+				if(!insertedSongIds.isEmpty()) {
+					eventPublisher.publishEvent(new SongsAddedToPlaylistEvent(playlistId, insertedSongIds));
+				}
+				eventPublisher.publishEvent(new PlaylistSongsChangedEvent(List.of(playlistId)));
+				long durationDelta = insertedSongIds.stream().mapToLong(durations::get).sum()
+						- deletedSongIds.stream().mapToLong(durations::get).sum();
+				playlistAggregateDao.adjust(List.of(new PlaylistAggregateDelta(
+						playlistId, insertedSongIds.size() - deletedSongIds.size(), durationDelta)));
+				cacheService.evictMemberships(List.of(playlistId), changedSongIds);
+				cacheService.evictPlaylists(List.of(playlistId));
+				entityManager.clear();
+			}
+		}
 		Playlist playlist = playlistDao.findPlaylistByPlaylistId(playlistId)
 				.orElseThrow(() -> new NoSuchElementException(
 						"Playlist with ID=" + playlistId + " does not exist."));
-		Song song = songDao.findSongBySongId(songId)
-				.orElseThrow(() -> new NoSuchElementException(
-						"Song with ID=" + songId + " does not exist."));
-		if(playlist.getSongs().contains(song)) {
-			playlist.getSongs().remove(song);
-			song.getPlaylists().remove(playlist);
-			playlistDao.save(playlist);
-			songDao.save(song);
-		}
 		return new PlaylistDto(playlist);
 	}
 
@@ -175,17 +376,145 @@ public class MusicAppService {
 		return new UserDto(user);
 	}
 
-	@Transactional
+	@Transactional(readOnly = true)
 	public PlaylistDto getPlaylist(Long playlistId) {
 		Playlist playlist = playlistDao.findPlaylistByPlaylistId(playlistId)
-				.orElseThrow(() -> new RuntimeException("Playlist was not found."));
+				.orElseThrow(() -> new NoSuchElementException(
+						"Playlist with ID=" + playlistId + " does not exist."));
 		return new PlaylistDto(playlist);
 	}
 
 	@Transactional(readOnly = true)
-	public List<UserDto> findAllUsersWithPlaylistsAndSongs() {
-		List<User> users = userDao.findAllUsersWithPlaylistsAndSongs();
-		return users.stream().map(UserDto::new).collect(Collectors.toList());
+	public SongPageDto getPlaylistSongsPage(Long playlistId, PlaylistSongSort sort, SongPageCursor cursor, int limit) {
+		verifyCursorSort(sort, cursor);
+		List<PlaylistSongRow> rows = playlistSongDao.findSongPage(playlistId, sort,
+				cursor != null ? cursor.lastKey() : null, cursor != null ? cursor.lastSongId() : null, limit + 1);
+		if(rows.isEmpty() && !playlistDao.existsById(playlistId)) {
+			throw new NoSuchElementException(
+					"Playlist with ID=" + playlistId + " does not exist.");
+		}
+		List<PlaylistSongRow> page = rows.subList(0, Math.min(limit, rows.size()));
+		Map<Long, List<Long>> playlistIdsBySongId = playlistSongDao
+				.findBySongIds(page.stream().map(row -> row.song().getSongId()).toList())
+				.stream()
+				.collect(Collectors.groupingBy(PlaylistSongLink::songId,
+						Collectors.mapping(PlaylistSongLink::playlistId, Collectors.toList())));
+		List<SongDto> songs = new ArrayList<>(page.size());
+		for(PlaylistSongRow row : page) {
+			SongDto songDto = new SongDto(row.song(), false);
+			songDto.setPlaylistIds(playlistIdsBySongId
+					.getOrDefault(row.song().getSongId(), List.of())
+					.stream()
+					.sorted()
+					.toList());
+			songs.add(songDto);
+		}
+		PlaylistSongRow last = page.isEmpty() ? null : page.get(page.size() - 1);
+		String nextCursor = rows.size() > limit ?
+				new SongPageCursor(sort.getName(), last.sortKey(), last.song().getSongId()).encode() : null;
+		return new SongPageDto(songs, nextCursor);
+	}
+
+	@Transactional(readOnly = true)
+	public UserPageDto findUsersPage(PageCursor cursor, int limit, boolean includePlaylists, boolean includeSongs) {
+		Long afterUserId = cursor != null ? cursor.lastId() : 0L;
+		List<User> users = userDao.findUsersAfter(afterUserId, Limit.of(limit + 1));
+		List<UserDto> page = users
+				.stream()
+				.limit(limit)
+				.map(user -> new UserDto(user, includePlaylists, includeSongs))
+				.collect(Collectors.toList());
+		String nextCursor = users.size() > limit ?
+				new PageCursor(page.get(page.size() - 1).getUserId()).encode() : null;
+		return new UserPageDto(page, nextCursor);
+	}
+
+	@Transactional(readOnly = true)
+	public LibraryChangesDto findUserChanges(Long userId, PageCursor since, int limit) {
+		if(!userDao.existsById(userId)) {
+			throw new NoSuchElementException(
+					"User with ID=" + userId + " does not exist.");
+		}
+		long afterChangeId = since != null ? since.lastId() : 0L;
+		List<LibraryChange> changes = libraryChangeDao.findChanges(userId, afterChangeId, limit + 1);
+		List<LibraryChange> page = changes.subList(0, Math.min(limit, changes.size()));
+		Set<Long> playlistIds = new HashSet<>();
+		Set<Long> songIds = new HashSet<>();
+		for(LibraryChange change : page) {
+			if(change.changeType().carriesPlaylist()) {
+				playlistIds.add(change.playlistId());
+			} else if(change.changeType().carriesSong()) {
+				songIds.add(change.songId());
+			}
+		}
+		Map<Long, PlaylistDto> playlists = playlistDao
+				.findAllById(playlistIds)
+				.stream()
+				.filter(playlist -> playlist.getUser() != null && playlist.getUser().getUserId().equals(userId))
+				.collect(Collectors.toMap(Playlist::getPlaylistId, playlist -> new PlaylistDto(playlist, false)));
+		Map<Long, SongDto> songs = songDao
+				.findAllById(songIds)
+				.stream()
+				.collect(Collectors.toMap(Song::getSongId, song -> new SongDto(song, false)));
+		List<LibraryChangeDto> changeDtos = new ArrayList<>(page.size());
+		for(LibraryChange change : page) {
+			LibraryChangeDto changeDto = new LibraryChangeDto();
+			changeDto.setChangeType(change.changeType());
+			changeDto.setPlaylistId(change.playlistId());
+			changeDto.setSongId(change.songId());
+			changeDto.setChangedAt(change.changedAt());
+			if(change.changeType().carriesPlaylist()) {
+				changeDto.setPlaylist(playlists.get(change.playlistId()));
+			} else if(change.changeType().carriesSong()) {
+				changeDto.setSong(songs.get(change.songId()));
+			}
+			changeDtos.add(changeDto);
+		}
+		long lastChangeId = page.isEmpty() ? afterChangeId : page.get(page.size() - 1).changeId();
+		return new LibraryChangesDto(changeDtos, new PageCursor(lastChangeId).encode(), changes.size() > limit);
+	}
+
+	@Transactional(readOnly = true)
+	public void exportUsers(Consumer<UserDto> consumer) {
+		try(Stream<User> users = userDao.streamAllUsers()) {
+			exportInChunks(users, UserDto::new, consumer);
+		}
+	}
+
+	@Transactional(readOnly = true)
+	public void exportSongs(Consumer<SongDto> consumer) {
+		try(Stream<Song> songs = songDao.streamAllSongs()) {
+			exportInChunks(songs, song -> new SongDto(song, false), consumer);
+		}
+	}
+
+	private <E, D> void exportInChunks(Stream<E> entities, Function<E, D> mapper, Consumer<D> consumer) {
+		List<E> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+		Iterator<E> iterator = entities.iterator();
+		while(iterator.hasNext()) {
+			chunk.add(iterator.next());
+			if(chunk.size() == EXPORT_CHUNK_SIZE || !iterator.hasNext()) {
+				chunk.forEach(entity -> consumer.accept(mapper.apply(entity)));
+				chunk.clear();
+				entityManager.clear();
+			}
+		}
+	}
+
+	@Transactional(readOnly = true)
+	public long findUserVersion(Long userId) {
+		return aggregateVersionDao.findUserVersion(userId)
+				.orElseThrow(() -> new NoSuchElementException(
+						"User with ID=" + userId + " does not exist."));
+	}
+
+	@Transactional(readOnly = true)
+	public PlaylistSongPageVersion findPlaylistSongsVersion(Long playlistId, PlaylistSongSort sort, SongPageCursor cursor, int limit) {
+		verifyCursorSort(sort, cursor);
+		return playlistSongDao.findSongPageVersion(playlistId, sort,
+				cursor != null ? cursor.lastKey() : null, cursor != null ? cursor.lastSongId() : null, limit)
+				.orElseThrow(() -> new NoSuchElementException(
+						"Playlist with ID=" + playlistId + " does not exist."));
 	}
 
 	@Transactional(readOnly = true)
@@ -203,6 +532,27 @@ public class MusicAppService {
 						"User with ID=" + userId + " does not exist."));
 	}
 
+	@Transactional(readOnly = true)
+	public UserDto findUser(Long userId, boolean includePlaylists, boolean includeSongs) {
+		if(includePlaylists && includeSongs) {
+			return findUserWithPlaylistsAndSongsByUserId(userId);
+		}
+		Optional<User> user = includePlaylists ? userDao.findUserWithPlaylistsByUserId(userId)
+				: userDao.findById(userId);
+		return new UserDto(user.orElseThrow(() -> new NoSuchElementException(
+				"User with ID=" + userId + " does not exist.")), includePlaylists, false);
+	}
+
+	@Transactional(readOnly = true)
+	public User findUserEntityWithPlaylists(Long userId, boolean includeSongs) {
+		if(includeSongs) {
+			return findUserEntityWithPlaylists(userId);
+		}
+		return userDao.findUserWithPlaylistsByUserId(userId)
+				.orElseThrow(() -> new NoSuchElementException(
+						"User with ID=" + userId + " does not exist."));
+	}
+
 	@Transactional(readOnly = true)
 	public List<Song> findAllSongs() {
 		return songDao.findAllSongsWithPlaylists();
@@ -213,6 +563,22 @@ public class MusicAppService {
 		return songDao.findSongBySongId(songId);
 	}
 
+	@Transactional(readOnly = true)
+	public List<Song> findSongsByIds(Collection<Long> songIds) {
+		Map<Long, Song> songsById = songDao.findAllById(songIds)
+				.stream()
+				.collect(Collectors.toMap(Song::getSongId, Function.identity()));
+		List<Song> songs = new ArrayList<>(songIds.size());
+		for(Long songId : songIds) {
+			Song song = songsById.get(songId);
+			if(song == null) {
+				throw new NoSuchElementException("Song with ID=" + songId + " does not exist.");
+			}
+			songs.add(song);
+		}
+		return songs;
+	}
+
 	@Transactional
 	public Song saveSong(Song song) {
 		Optional<Song> existingSong = songDao.findBySongTitleAndSongAlbumAndSongArtist(
@@ -221,7 +587,9 @@ public class MusicAppService {
 			throw new DuplicateSongException(
 					"Song already exists. Use the addExistingSongToPlaylistOfUser endpoint instead (/users/{userId}/playlists/{playlistId}/songs?songId={songId})");
 		}
-		return songDao.save(song);
+		Song savedSong = songDao.save(song);
+		eventPublisher.publishEvent(new SongChangedEvent(toSummary(savedSong)));
+		return savedSong;
 	}
 
 	@Transactional
@@ -230,7 +598,32 @@ public class MusicAppService {
 			throw new NoSuchElementException(
 					"Song with ID=" +songId + " does not exist.");
 		}
-		songDao.deleteById(songId);
+		aggregateVersionDao.bumpPlaylistsContainingSong(songId);
+		List<Long> playlistIds = cascadeDeleteDao.findPlaylistIdsBySongId(songId);
+		playlistAggregateDao.removeSongFromPlaylists(songId, playlistIds);
+		cacheService.evictPlaylists(playlistIds);
+		libraryChangeDao.recordSongRemovedFromPlaylists(songId);
+		cascadeDeleteDao.deleteLinksOfSong(songId);
+		cascadeDeleteDao.deleteSong(songId);
+		cacheService.evictMemberships(playlistIds, List.of(songId));
+		cacheService.evictSong(songId);
+		eventPublisher.publishEvent(new SongDeletedEvent(songId));
+		eventPublisher.publishEvent(new PlaylistSongsChangedEvent(playlistIds));
+	}
+
+	private static void verifyCursorSort(PlaylistSongSort sort, SongPageCursor cursor) {
+		if(cursor != null && !cursor.sort().equals(sort.getName())) {
+			throw new IllegalArgumentException(
+					"Cursor was issued for sort=" + cursor.sort() + " and cannot be used with sort=" + sort.getName() + ".");
+		}
+	}
+
+	private static long durationOf(Song song) {
+		return song.getSongDurationSeconds() != null ? song.getSongDurationSeconds() : 0;
+	}
+
+	private static SongSummary toSummary(Song song) {
+		return new SongSummary(song.getSongId(), song.getSongTitle(), song.getSongArtist(), song.getSongAlbum());
 	}
 
 }
\ No newline at end of file
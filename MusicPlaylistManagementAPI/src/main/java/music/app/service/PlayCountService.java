@@ -0,0 +1,154 @@
+package music.app.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import music.app.controller.model.PlaylistPlayCountDto;
+import music.app.controller.model.SongPlayCountDto;
+import music.app.dao.PlayCountDao;
+import music.app.service.event.SongDeletedEvent;
+
+/**
+ * Counts song plays in memory and writes them to {@code song_play_count} every
+ * {@code music.app.plays.flush-interval-ms}. Plays not yet flushed are lost on a crash; a graceful
+ * shutdown flushes them.
+ */
+@Service
+@Slf4j
+public class PlayCountService {
+
+	@Autowired
+	private PlayCountDao playCountDao;
+	@Autowired
+	private SongSearchService songSearchService;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final Map<Long, LongAdder> pendingPlays = new ConcurrentHashMap<>();
+	private final ReentrantLock flushLock = new ReentrantLock();
+	private Counter recordedPlays;
+	private Counter flushedPlays;
+
+	@PostConstruct
+	public void registerMetrics() {
+		recordedPlays = Counter.builder("music.app.plays.recorded")
+				.description("Song plays accepted")
+				.register(meterRegistry);
+		flushedPlays = Counter.builder("music.app.plays.flushed")
+				.description("Song plays written to the database")
+				.register(meterRegistry);
+		Gauge.builder("music.app.plays.pending.songs", pendingPlays, Map::size)
+				.description("Songs with play counters held in memory")
+				.register(meterRegistry);
+	}
+
+	public void recordPlay(Long songId) {
+		verifySongExists(songId);
+		LongAdder plays;
+		do {
+			plays = pendingPlays.get(songId);
+			if(plays == null) {
+				plays = pendingPlays.computeIfAbsent(songId, id -> new LongAdder());
+			}
+			plays.increment();
+			// A flush drops counters that reach zero; count again if this one was dropped.
+		} while(pendingPlays.get(songId) != plays);
+		recordedPlays.increment();
+	}
+
+	@Transactional(readOnly = true)
+	public SongPlayCountDto getSongPlayCount(Long songId) {
+		verifySongExists(songId);
+		return new SongPlayCountDto(songId, playCountDao.findPlayCount(songId) + pendingPlays(songId));
+	}
+
+	@Transactional(readOnly = true)
+	public PlaylistPlayCountDto getPlaylistPlayCount(Long playlistId) {
+		Map<Long, Long> playCounts = playCountDao.findPlayCountsOfPlaylist(playlistId);
+		long total = 0;
+		for(Map.Entry<Long, Long> playCount : playCounts.entrySet()) {
+			total += playCount.getValue() + pendingPlays(playCount.getKey());
+		}
+		return new PlaylistPlayCountDto(playlistId, playCounts.size(), total);
+	}
+
+	@Scheduled(fixedDelayString = "${music.app.plays.flush-interval-ms:1000}")
+	public void flush() {
+		flushLock.lock();
+		try {
+			writePendingPlays();
+		} finally {
+			flushLock.unlock();
+		}
+	}
+
+	private void writePendingPlays() {
+		List<Map.Entry<Long, Long>> playsBySongId = new ArrayList<>();
+		pendingPlays.forEach((songId, plays) -> {
+			long count = plays.sum();
+			if(count != 0) {
+				playsBySongId.add(Map.entry(songId, count));
+			}
+		});
+		if(playsBySongId.isEmpty()) {
+			return;
+		}
+		playsBySongId.sort(Map.Entry.comparingByKey());
+		try {
+			transactionTemplate.executeWithoutResult(status -> playCountDao.addPlays(playsBySongId));
+		} catch(RuntimeException e) {
+			log.warn("Could not flush plays of {} songs, keeping them for the next flush.", playsBySongId.size(), e);
+			return;
+		}
+		long flushed = 0;
+		for(Map.Entry<Long, Long> plays : playsBySongId) {
+			pendingPlays.computeIfPresent(plays.getKey(), (songId, pending) -> {
+				pending.add(-plays.getValue());
+				return pending.sum() == 0 ? null : pending;
+			});
+			flushed += plays.getValue();
+		}
+		flushedPlays.increment(flushed);
+	}
+
+	@PreDestroy
+	public void flushOnShutdown() {
+		flush();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onSongDeleted(SongDeletedEvent event) {
+		pendingPlays.remove(event.songId());
+	}
+
+	private long pendingPlays(Long songId) {
+		LongAdder plays = pendingPlays.get(songId);
+		return plays != null ? plays.sum() : 0;
+	}
+
+	private void verifySongExists(Long songId) {
+		if(!songSearchService.containsSong(songId)) {
+			throw new NoSuchElementException("Song with ID=" + songId + " does not exist.");
+		}
+	}
+}
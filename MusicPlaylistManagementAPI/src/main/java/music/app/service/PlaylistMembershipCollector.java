@@ -0,0 +1,36 @@
+package music.app.service;
+
+import java.util.Arrays;
+
+import music.app.dao.PlaylistSongDao;
+
+/**
+ * Gathers {@code playlist_song} rows, ordered by playlist, into one song id array per playlist.
+ */
+final class PlaylistMembershipCollector implements PlaylistSongDao.LinkConsumer {
+
+	private final LongObjectHashMap<long[]> memberships = new LongObjectHashMap<>();
+	private long playlistId;
+	private long[] songIds = new long[16];
+	private int size;
+
+	@Override
+	public void accept(long linkPlaylistId, long songId) {
+		if(linkPlaylistId != playlistId) {
+			finish();
+			playlistId = linkPlaylistId;
+		}
+		if(size == songIds.length) {
+			songIds = Arrays.copyOf(songIds, size << 1);
+		}
+		songIds[size++] = songId;
+	}
+
+	LongObjectHashMap<long[]> finish() {
+		if(size > 0) {
+			memberships.put(playlistId, Arrays.copyOf(songIds, size));
+			size = 0;
+		}
+		return memberships;
+	}
+}
@@ -0,0 +1,94 @@
+package music.app.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import music.app.dao.AggregateVersionDao;
+import music.app.dao.CascadeDeleteDao;
+import music.app.service.event.PlaylistSongsChangedEvent;
+
+/**
+ * Removes playlists queued in {@code playlist_purge} by asynchronous deletes, in batches of
+ * {@code music.app.delete.purge-batch-size} playlists. Links are deleted first, in transactions of at
+ * most {@code music.app.delete.purge-link-chunk-size} rows. The queue survives restarts.
+ */
+@Service
+@Slf4j
+public class PlaylistPurgeService {
+
+	@Autowired
+	private CascadeDeleteDao cascadeDeleteDao;
+	@Autowired
+	private AggregateVersionDao aggregateVersionDao;
+	@Autowired
+	private CacheService cacheService;
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private MeterRegistry meterRegistry;
+	@Value("${music.app.delete.purge-batch-size:50}")
+	private int batchSize;
+	@Value("${music.app.delete.purge-link-chunk-size:1000}")
+	private int linkChunkSize;
+
+	private Counter purgedPlaylists;
+
+	@PostConstruct
+	public void registerMetrics() {
+		purgedPlaylists = Counter.builder("music.app.delete.purged.playlists")
+				.description("Playlists removed by asynchronous deletes")
+				.register(meterRegistry);
+	}
+
+	@Scheduled(fixedDelayString = "${music.app.delete.purge-interval-ms:1000}")
+	public void purge() {
+		int purged;
+		do {
+			try {
+				purged = purgeBatch();
+			} catch(RuntimeException e) {
+				log.warn("Could not purge deleted playlists, retrying on the next run.", e);
+				return;
+			}
+		} while(purged == batchSize);
+	}
+
+	private int purgeBatch() {
+		List<Long> playlistIds = cascadeDeleteDao.findQueuedPlaylistIds(batchSize);
+		if(playlistIds.isEmpty()) {
+			return 0;
+		}
+		int deletedLinks;
+		do {
+			deletedLinks = transactionTemplate.execute(status -> deleteLinkChunk(playlistIds));
+		} while(deletedLinks > 0);
+		return transactionTemplate.execute(status -> deletePlaylists(playlistIds));
+	}
+
+	private int deleteLinkChunk(List<Long> playlistIds) {
+		List<Long> songIds = cascadeDeleteDao.findLinkedSongIdsOfPlaylists(playlistIds, linkChunkSize);
+		aggregateVersionDao.bumpSongs(songIds);
+		return cascadeDeleteDao.deleteLinksOfPlaylists(playlistIds, songIds, linkChunkSize);
+	}
+
+	private int deletePlaylists(List<Long> playlistIds) {
+		cascadeDeleteDao.deletePlaylists(playlistIds);
+		cascadeDeleteDao.dequeue(playlistIds);
+		cacheService.evictDeletedPlaylists(playlistIds);
+		eventPublisher.publishEvent(new PlaylistSongsChangedEvent(playlistIds));
+		purgedPlaylists.increment(playlistIds.size());
+		return playlistIds.size();
+	}
+}
@@ -0,0 +1,83 @@
+package music.app.service;
+
+import java.util.NoSuchElementException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import music.app.controller.model.PlaylistDto;
+import music.app.controller.model.SongDto;
+import music.app.controller.model.UserDto;
+import music.app.dao.ReactiveMusicDao;
+import music.app.entity.User;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of the {@link MusicAppService} reads, with the same ownership checks and 404
+ * messages. Reads are not transactional, so a user and their playlists come from separate queries.
+ */
+@Service
+public class ReactiveMusicAppService {
+
+	private static final long MISSING_PLAYLIST_OWNER = -1L;
+
+	@Autowired
+	private ReactiveMusicDao reactiveMusicDao;
+
+	public Flux<UserDto> streamUsers() {
+		return reactiveMusicDao.streamUsers().map(user -> new UserDto(user, false));
+	}
+
+	public Mono<UserDto> findUserWithPlaylistsAndSongsByUserId(Long userId) {
+		return findUser(userId).flatMap(user -> reactiveMusicDao
+				.streamPlaylistsWithSongsOfUser(userId)
+				.collectList()
+				.map(playlists -> {
+					user.getPlaylists().addAll(playlists);
+					return new UserDto(user);
+				}));
+	}
+
+	public Flux<PlaylistDto> streamPlaylistsOfUser(Long userId) {
+		return findUser(userId).thenMany(reactiveMusicDao
+				.streamPlaylistsWithSongsOfUser(userId)
+				.map(playlist -> new PlaylistDto(playlist, true)));
+	}
+
+	public Flux<SongDto> streamSongsOfPlaylist(Long userId, Long playlistId) {
+		return verifyPlaylistOwner(userId, playlistId).thenMany(reactiveMusicDao
+				.streamSongsOfPlaylist(playlistId)
+				.map(song -> new SongDto(song, true)));
+	}
+
+	private Mono<User> findUser(Long userId) {
+		return reactiveMusicDao
+				.findUser(userId)
+				.switchIfEmpty(Mono.error(() -> new NoSuchElementException(
+						"User with ID=" + userId + " does not exist.")));
+	}
+
+	private Mono<Void> verifyPlaylistOwner(Long userId, Long playlistId) {
+		return reactiveMusicDao
+				.findPlaylistOwnerId(playlistId)
+				.defaultIfEmpty(MISSING_PLAYLIST_OWNER)
+				.flatMap(ownerId -> {
+					if(ownerId.equals(userId)) {
+						return Mono.empty();
+					}
+					return reactiveMusicDao.existsUser(userId).flatMap(userExists -> {
+						if(!userExists) {
+							return Mono.error(new NoSuchElementException(
+									"User with ID=" + userId + " does not exist."));
+						}
+						if(ownerId == MISSING_PLAYLIST_OWNER) {
+							return Mono.error(new NoSuchElementException(
+									"Playlist with ID=" + playlistId + " does not exist."));
+						}
+						return Mono.error(new NoSuchElementException(
+								"Playlist with ID=" + playlistId + " does not belong to user with ID=" + userId + "."));
+					});
+				});
+	}
+}
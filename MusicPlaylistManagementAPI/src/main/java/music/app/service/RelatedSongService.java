@@ -0,0 +1,365 @@
+package music.app.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import music.app.controller.model.RelatedSongDto;
+import music.app.dao.PlaylistSongDao;
+import music.app.dao.SongSummary;
+import music.app.service.event.PlaylistSongsChangedEvent;
+
+/**
+ * Recommends the songs that most often share playlists with a song. Counts are built on startup and
+ * updated for changed playlists every {@code music.app.related.refresh-interval-ms}; playlists over
+ * {@code music.app.related.max-playlist-size} songs are ignored.
+ */
+@Service
+@Slf4j
+public class RelatedSongService {
+
+	private static final int PARTITION_SIZE = 64;
+	private static final int RELOAD_CHUNK_SIZE = 500;
+	private static final long[] NO_SONGS = new long[0];
+
+	private record Neighbors(long[] songIds, int[] counts) {
+	}
+
+	private static final class PairCountTask extends RecursiveTask<LongObjectHashMap<LongIntHashMap>> {
+
+		private final long[][] playlists;
+		private final int from;
+		private final int to;
+
+		PairCountTask(long[][] playlists, int from, int to) {
+			this.playlists = playlists;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected LongObjectHashMap<LongIntHashMap> compute() {
+			if(to - from <= PARTITION_SIZE) {
+				LongObjectHashMap<LongIntHashMap> counts = new LongObjectHashMap<>();
+				for(int i = from; i < to; i++) {
+					long[] songIds = playlists[i];
+					for(long songId : songIds) {
+						LongIntHashMap songCounts = counts.get(songId);
+						if(songCounts == null) {
+							songCounts = new LongIntHashMap(songIds.length);
+							counts.put(songId, songCounts);
+						}
+						for(long otherSongId : songIds) {
+							if(otherSongId != songId) {
+								songCounts.addTo(otherSongId, 1);
+							}
+						}
+					}
+				}
+				return counts;
+			}
+			int middle = (from + to) >>> 1;
+			PairCountTask left = new PairCountTask(playlists, from, middle);
+			left.fork();
+			LongObjectHashMap<LongIntHashMap> counts = new PairCountTask(playlists, middle, to).compute();
+			LongObjectHashMap<LongIntHashMap> leftCounts = left.join();
+			if(leftCounts.size() > counts.size()) {
+				LongObjectHashMap<LongIntHashMap> smaller = counts;
+				counts = leftCounts;
+				leftCounts = smaller;
+			}
+			merge(counts, leftCounts);
+			return counts;
+		}
+
+		private static void merge(LongObjectHashMap<LongIntHashMap> target, LongObjectHashMap<LongIntHashMap> source) {
+			source.forEach((songId, sourceCounts) -> {
+				LongIntHashMap targetCounts = target.get(songId);
+				if(targetCounts == null) {
+					target.put(songId, sourceCounts);
+				} else {
+					sourceCounts.forEach(targetCounts::addTo);
+				}
+			});
+		}
+	}
+
+	@Autowired
+	private PlaylistSongDao playlistSongDao;
+	@Autowired
+	private SongSearchService songSearchService;
+	@Autowired
+	private MeterRegistry meterRegistry;
+	@Value("${music.app.related.neighbors-per-song:20}")
+	private int neighborsPerSong;
+	@Value("${music.app.related.max-playlist-size:200}")
+	private int maxPlaylistSize;
+	@Value("${music.app.related.parallelism:0}")
+	private int parallelism;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final ReentrantLock maintenanceLock = new ReentrantLock();
+	private LongObjectHashMap<Neighbors> neighbors = new LongObjectHashMap<>();
+	private LongObjectHashMap<long[]> memberships;
+	private LongObjectHashMap<LongIntHashMap> coOccurrences;
+	private final Set<Long> dirtyPlaylistIds = ConcurrentHashMap.newKeySet();
+	private final AtomicLong pairCounts = new AtomicLong();
+
+	@PostConstruct
+	public void registerMetrics() {
+		Gauge.builder("music.app.related.dirty.playlists", dirtyPlaylistIds, Set::size)
+				.description("Playlists whose membership changes are not yet reflected in related songs")
+				.register(meterRegistry);
+		Gauge.builder("music.app.related.pair.counts", pairCounts, AtomicLong::get)
+				.description("Co-occurrence counts held in memory, two per song pair")
+				.register(meterRegistry);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		maintenanceLock.lock();
+		try {
+			rebuildNeighbors();
+		} finally {
+			maintenanceLock.unlock();
+		}
+	}
+
+	private void rebuildNeighbors() {
+		long start = System.nanoTime();
+		dirtyPlaylistIds.clear();
+		PlaylistMembershipCollector collector = new PlaylistMembershipCollector();
+		playlistSongDao.forEachLink(collector);
+		LongObjectHashMap<long[]> loadedMemberships = collector.finish();
+		List<long[]> counted = new ArrayList<>(loadedMemberships.size());
+		loadedMemberships.forEach((playlistId, songIds) -> {
+			if(songIds.length > 1 && songIds.length <= maxPlaylistSize) {
+				counted.add(songIds);
+			}
+		});
+		int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+		LongObjectHashMap<LongIntHashMap> counts;
+		try(ForkJoinPool pool = new ForkJoinPool(threads)) {
+			long[][] playlists = counted.toArray(long[][]::new);
+			counts = pool.invoke(new PairCountTask(playlists, 0, playlists.length));
+		}
+		LongObjectHashMap<Neighbors> ranked = new LongObjectHashMap<>(counts.size());
+		long[] pairs = new long[1];
+		counts.forEach((songId, songCounts) -> {
+			pairs[0] += songCounts.size();
+			Neighbors songNeighbors = topNeighbors(songCounts);
+			if(songNeighbors != null) {
+				ranked.put(songId, songNeighbors);
+			}
+		});
+		memberships = loadedMemberships;
+		coOccurrences = counts;
+		pairCounts.set(pairs[0]);
+		lock.writeLock().lock();
+		try {
+			neighbors = ranked;
+		} finally {
+			lock.writeLock().unlock();
+		}
+		log.info("Computed related songs for {} songs from {} playlists ({} song pairs) on {} threads in {} ms.",
+				ranked.size(), counted.size(), pairs[0] / 2, threads,
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPlaylistSongsChanged(PlaylistSongsChangedEvent event) {
+		dirtyPlaylistIds.addAll(event.playlistIds());
+	}
+
+	@Scheduled(fixedDelayString = "${music.app.related.refresh-interval-ms:5000}")
+	public void refresh() {
+		maintenanceLock.lock();
+		try {
+			applyDirtyPlaylists();
+		} finally {
+			maintenanceLock.unlock();
+		}
+	}
+
+	private void applyDirtyPlaylists() {
+		if(coOccurrences == null || dirtyPlaylistIds.isEmpty()) {
+			return;
+		}
+		List<Long> playlistIds = new ArrayList<>(dirtyPlaylistIds);
+		dirtyPlaylistIds.removeAll(playlistIds);
+		PlaylistMembershipCollector collector = new PlaylistMembershipCollector();
+		try {
+			for(int i = 0; i < playlistIds.size(); i += RELOAD_CHUNK_SIZE) {
+				playlistSongDao.forEachLinkOfPlaylists(
+						playlistIds.subList(i, Math.min(i + RELOAD_CHUNK_SIZE, playlistIds.size())), collector);
+			}
+		} catch(RuntimeException e) {
+			dirtyPlaylistIds.addAll(playlistIds);
+			log.warn("Could not reload {} playlists for related songs, retrying on the next refresh.",
+					playlistIds.size(), e);
+			return;
+		}
+		LongObjectHashMap<long[]> reloaded = collector.finish();
+		LongIntHashMap touchedSongs = new LongIntHashMap();
+		for(Long playlistId : playlistIds) {
+			long[] songIds = reloaded.get(playlistId);
+			applyPairs(countedSongs(memberships.get(playlistId)), countedSongs(songIds), touchedSongs);
+			memberships.put(playlistId, songIds);
+		}
+		List<Long> rerankedSongIds = new ArrayList<>(touchedSongs.size());
+		List<Neighbors> reranked = new ArrayList<>(touchedSongs.size());
+		touchedSongs.forEach((songId, touched) -> {
+			LongIntHashMap songCounts = coOccurrences.get(songId);
+			rerankedSongIds.add(songId);
+			reranked.add(songCounts != null ? topNeighbors(songCounts) : null);
+		});
+		lock.writeLock().lock();
+		try {
+			for(int i = 0; i < rerankedSongIds.size(); i++) {
+				neighbors.put(rerankedSongIds.get(i), reranked.get(i));
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+		log.debug("Applied membership changes of {} playlists to related songs, re-ranked {} songs.",
+				playlistIds.size(), rerankedSongIds.size());
+	}
+
+	public List<RelatedSongDto> getRelatedSongs(Long songId, int limit) {
+		if(!songSearchService.containsSong(songId)) {
+			throw new NoSuchElementException("Song with ID=" + songId + " does not exist.");
+		}
+		Neighbors songNeighbors;
+		lock.readLock().lock();
+		try {
+			songNeighbors = neighbors.get(songId);
+		} finally {
+			lock.readLock().unlock();
+		}
+		if(songNeighbors == null) {
+			return List.of();
+		}
+		List<Long> neighborIds = Arrays.stream(songNeighbors.songIds()).boxed().toList();
+		Map<Long, SongSummary> songs = songSearchService.findSongs(neighborIds);
+		List<RelatedSongDto> related = new ArrayList<>(Math.min(limit, neighborIds.size()));
+		for(int i = 0; i < neighborIds.size() && related.size() < limit; i++) {
+			SongSummary song = songs.get(neighborIds.get(i));
+			if(song != null) {
+				related.add(new RelatedSongDto(song.songId(), song.songTitle(), song.songArtist(),
+						song.songAlbum(), songNeighbors.counts()[i]));
+			}
+		}
+		return related;
+	}
+
+	public int getNeighborsPerSong() {
+		return neighborsPerSong;
+	}
+
+	private long[] countedSongs(long[] songIds) {
+		return songIds != null && songIds.length > 1 && songIds.length <= maxPlaylistSize ? songIds : NO_SONGS;
+	}
+
+	private void applyPairs(long[] before, long[] after, LongIntHashMap touchedSongs) {
+		long[] removed = difference(before, after);
+		long[] added = difference(after, before);
+		adjustPairs(before, removed, -1, touchedSongs);
+		adjustPairs(after, added, 1, touchedSongs);
+	}
+
+	private void adjustPairs(long[] members, long[] changed, int delta, LongIntHashMap touchedSongs) {
+		for(long songId : changed) {
+			for(long otherSongId : members) {
+				if(otherSongId == songId
+						|| (otherSongId < songId && Arrays.binarySearch(changed, otherSongId) >= 0)) {
+					continue;
+				}
+				adjustPair(songId, otherSongId, delta);
+				adjustPair(otherSongId, songId, delta);
+				touchedSongs.addTo(songId, 1);
+				touchedSongs.addTo(otherSongId, 1);
+			}
+		}
+	}
+
+	private void adjustPair(long songId, long otherSongId, int delta) {
+		LongIntHashMap songCounts = coOccurrences.get(songId);
+		if(songCounts == null) {
+			if(delta < 0) {
+				return;
+			}
+			songCounts = new LongIntHashMap();
+			coOccurrences.put(songId, songCounts);
+		}
+		int count = songCounts.addTo(otherSongId, delta);
+		if(count == 0) {
+			pairCounts.decrementAndGet();
+		} else if(count == delta) {
+			pairCounts.incrementAndGet();
+		}
+		if(songCounts.size() == 0) {
+			coOccurrences.remove(songId);
+		}
+	}
+
+	private Neighbors topNeighbors(LongIntHashMap songCounts) {
+		long[] songIds = new long[neighborsPerSong];
+		int[] counts = new int[neighborsPerSong];
+		int[] size = new int[1];
+		songCounts.forEach((songId, count) -> {
+			int filled = size[0];
+			if(filled == neighborsPerSong && !ranksBefore(count, songId, counts[filled - 1], songIds[filled - 1])) {
+				return;
+			}
+			int slot = filled == neighborsPerSong ? filled - 1 : filled;
+			while(slot > 0 && ranksBefore(count, songId, counts[slot - 1], songIds[slot - 1])) {
+				songIds[slot] = songIds[slot - 1];
+				counts[slot] = counts[slot - 1];
+				slot--;
+			}
+			songIds[slot] = songId;
+			counts[slot] = count;
+			if(filled < neighborsPerSong) {
+				size[0]++;
+			}
+		});
+		return size[0] == 0 ? null : new Neighbors(Arrays.copyOf(songIds, size[0]), Arrays.copyOf(counts, size[0]));
+	}
+
+	private static boolean ranksBefore(int count, long songId, int otherCount, long otherSongId) {
+		return count > otherCount || (count == otherCount && songId < otherSongId);
+	}
+
+	private static long[] difference(long[] songIds, long[] excluded) {
+		long[] result = new long[songIds.length];
+		int size = 0;
+		for(long songId : songIds) {
+			if(Arrays.binarySearch(excluded, songId) < 0) {
+				result[size++] = songId;
+			}
+		}
+		return Arrays.copyOf(result, size);
+	}
+}
@@ -0,0 +1,169 @@
+package music.app.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import music.app.controller.model.SimilarPlaylistDto;
+import music.app.dao.PlaylistDao;
+import music.app.dao.PlaylistSongDao;
+import music.app.dao.PlaylistSummary;
+import music.app.service.event.PlaylistSongsChangedEvent;
+
+/**
+ * Finds playlists with overlapping songs through a {@link MinHashIndex} built on startup and
+ * refreshed for changed playlists every {@code music.app.similar.refresh-interval-ms}. Results are
+ * estimates and may miss weakly similar playlists.
+ */
+@Service
+@Slf4j
+public class SimilarPlaylistService {
+
+	private static final int RELOAD_CHUNK_SIZE = 500;
+	private static final long SIGNATURE_SEED = 0x5EED;
+
+	@Autowired
+	private PlaylistSongDao playlistSongDao;
+	@Autowired
+	private PlaylistDao playlistDao;
+	@Autowired
+	private MeterRegistry meterRegistry;
+	@Value("${music.app.similar.bands:32}")
+	private int bands;
+	@Value("${music.app.similar.rows:4}")
+	private int rows;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final ReentrantLock maintenanceLock = new ReentrantLock();
+	private MinHashIndex index;
+	private final Set<Long> dirtyPlaylistIds = ConcurrentHashMap.newKeySet();
+
+	@PostConstruct
+	public void init() {
+		index = new MinHashIndex(bands, rows, SIGNATURE_SEED);
+		Gauge.builder("music.app.similar.dirty.playlists", dirtyPlaylistIds, Set::size)
+				.description("Playlists whose membership changes are not yet reflected in similar playlists")
+				.register(meterRegistry);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		maintenanceLock.lock();
+		try {
+			rebuildIndex();
+		} finally {
+			maintenanceLock.unlock();
+		}
+	}
+
+	private void rebuildIndex() {
+		long start = System.nanoTime();
+		dirtyPlaylistIds.clear();
+		PlaylistMembershipCollector collector = new PlaylistMembershipCollector();
+		playlistSongDao.forEachLink(collector);
+		MinHashIndex builtIndex = new MinHashIndex(bands, rows, SIGNATURE_SEED);
+		collector.finish().forEach(builtIndex::put);
+		lock.writeLock().lock();
+		try {
+			index = builtIndex;
+		} finally {
+			lock.writeLock().unlock();
+		}
+		log.info("Indexed MinHash signatures of {} playlists ({} bands of {} rows) in {} ms.", builtIndex.size(),
+				bands, rows, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPlaylistSongsChanged(PlaylistSongsChangedEvent event) {
+		dirtyPlaylistIds.addAll(event.playlistIds());
+	}
+
+	@Scheduled(fixedDelayString = "${music.app.similar.refresh-interval-ms:1000}")
+	public void refresh() {
+		maintenanceLock.lock();
+		try {
+			applyDirtyPlaylists();
+		} finally {
+			maintenanceLock.unlock();
+		}
+	}
+
+	private void applyDirtyPlaylists() {
+		if(dirtyPlaylistIds.isEmpty()) {
+			return;
+		}
+		List<Long> playlistIds = new ArrayList<>(dirtyPlaylistIds);
+		dirtyPlaylistIds.removeAll(playlistIds);
+		PlaylistMembershipCollector collector = new PlaylistMembershipCollector();
+		try {
+			for(int i = 0; i < playlistIds.size(); i += RELOAD_CHUNK_SIZE) {
+				playlistSongDao.forEachLinkOfPlaylists(
+						playlistIds.subList(i, Math.min(i + RELOAD_CHUNK_SIZE, playlistIds.size())), collector);
+			}
+		} catch(RuntimeException e) {
+			dirtyPlaylistIds.addAll(playlistIds);
+			log.warn("Could not reload {} playlists for similar playlists, retrying on the next refresh.",
+					playlistIds.size(), e);
+			return;
+		}
+		LongObjectHashMap<long[]> reloaded = collector.finish();
+		lock.writeLock().lock();
+		try {
+			for(Long playlistId : playlistIds) {
+				long[] songIds = reloaded.get(playlistId);
+				if(songIds != null) {
+					index.put(playlistId, songIds);
+				} else {
+					index.remove(playlistId);
+				}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public List<SimilarPlaylistDto> getSimilarPlaylists(Long playlistId, int limit) {
+		List<MinHashIndex.Match> matches;
+		lock.readLock().lock();
+		try {
+			matches = index.query(playlistId, limit);
+		} finally {
+			lock.readLock().unlock();
+		}
+		if(matches.isEmpty()) {
+			return List.of();
+		}
+		Map<Long, PlaylistSummary> playlists = playlistDao
+				.findPlaylistSummaries(matches.stream().map(MinHashIndex.Match::id).toList())
+				.stream()
+				.collect(Collectors.toMap(PlaylistSummary::playlistId, Function.identity()));
+		List<SimilarPlaylistDto> similar = new ArrayList<>(matches.size());
+		for(MinHashIndex.Match match : matches) {
+			PlaylistSummary playlist = playlists.get(match.id());
+			if(playlist != null) {
+				similar.add(new SimilarPlaylistDto(playlist.playlistId(), playlist.userId(), playlist.playlistTitle(),
+						playlist.songCount(), match.similarity()));
+			}
+		}
+		return similar;
+	}
+}
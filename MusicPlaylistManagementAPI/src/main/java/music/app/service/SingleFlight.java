@@ -0,0 +1,80 @@
+package music.app.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Collapses concurrent loads of the same key into one shared load. Nothing is kept once the load
+ * finishes; {@link #forgetIf} and {@link #forgetAll} detach running loads after a write.
+ */
+final class SingleFlight<K, V> {
+
+	private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+	private final Counter loaded;
+	private final Counter collapsed;
+
+	SingleFlight(String name, MeterRegistry meterRegistry) {
+		loaded = Counter.builder("music.app.singleflight.calls")
+				.description("Reads that ran their own load or shared a concurrent one")
+				.tags("name", name, "result", "loaded")
+				.register(meterRegistry);
+		collapsed = Counter.builder("music.app.singleflight.calls")
+				.description("Reads that ran their own load or shared a concurrent one")
+				.tags("name", name, "result", "collapsed")
+				.register(meterRegistry);
+		Gauge.builder("music.app.singleflight.in.flight", inFlight, ConcurrentHashMap::size)
+				.description("Keys with a load in progress")
+				.tag("name", name)
+				.register(meterRegistry);
+	}
+
+	V load(K key, Supplier<V> loader) {
+		CompletableFuture<V> flight = new CompletableFuture<>();
+		CompletableFuture<V> running = inFlight.putIfAbsent(key, flight);
+		if(running != null) {
+			collapsed.increment();
+			return await(running);
+		}
+		loaded.increment();
+		V value;
+		try {
+			value = loader.get();
+		} catch(RuntimeException | Error e) {
+			inFlight.remove(key, flight);
+			flight.completeExceptionally(e);
+			throw e;
+		}
+		inFlight.remove(key, flight);
+		flight.complete(value);
+		return value;
+	}
+
+	void forgetIf(Predicate<K> condition) {
+		inFlight.keySet().removeIf(condition);
+	}
+
+	void forgetAll() {
+		inFlight.clear();
+	}
+
+	private V await(CompletableFuture<V> flight) {
+		try {
+			return flight.join();
+		} catch(CompletionException e) {
+			if(e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if(e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+}
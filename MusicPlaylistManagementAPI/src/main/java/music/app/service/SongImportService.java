@@ -0,0 +1,231 @@
+package music.app.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import music.app.controller.model.SongImportDto;
+import music.app.controller.model.SongImportResultDto;
+import music.app.controller.model.mapper.DurationMapper;
+import music.app.dao.AggregateVersionDao;
+import music.app.dao.LibraryChangeDao;
+import music.app.dao.LibraryChangeType;
+import music.app.dao.PlaylistAggregateDao;
+import music.app.dao.PlaylistAggregateDelta;
+import music.app.dao.PlaylistDao;
+import music.app.dao.PlaylistSongDao;
+import music.app.dao.PlaylistSongLink;
+import music.app.dao.SongDao;
+import music.app.dao.SongSummary;
+import music.app.entity.Song;
+import music.app.service.event.PlaylistSongsChangedEvent;
+import music.app.service.event.SongChangedEvent;
+
+@Service
+@Timed(value = "music.app.service", description = "Duration of service method calls")
+public class SongImportService {
+
+	@Autowired
+	private SongDao songDao;
+	@Autowired
+	private PlaylistDao playlistDao;
+	@Autowired
+	private PlaylistSongDao playlistSongDao;
+	@Autowired
+	private LibraryChangeDao libraryChangeDao;
+	@Autowired
+	private CacheService cacheService;
+	@Autowired
+	private AggregateVersionDao aggregateVersionDao;
+	@Autowired
+	private PlaylistAggregateDao playlistAggregateDao;
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@PersistenceContext
+	private EntityManager entityManager;
+	@Value("${music.app.import.chunk-size:1000}")
+	private int chunkSize;
+
+	private record SongKey(String songTitle, String songAlbum, String songArtist) {
+
+		static SongKey of(String songTitle, String songAlbum, String songArtist) {
+			return new SongKey(normalize(songTitle), normalize(songAlbum), normalize(songArtist));
+		}
+
+		private static String normalize(String value) {
+			return value != null ? value.toLowerCase(Locale.ROOT) : null;
+		}
+	}
+
+	public SongImportResultDto importSongs(Iterator<SongImportDto> rows) {
+		long start = System.nanoTime();
+		SongImportResultDto result = new SongImportResultDto();
+		List<SongImportDto> chunk = new ArrayList<>(chunkSize);
+		while(rows.hasNext()) {
+			chunk.add(rows.next());
+			if(chunk.size() == chunkSize || !rows.hasNext()) {
+				transactionTemplate.executeWithoutResult(status -> importChunk(chunk, result));
+				chunk.clear();
+			}
+		}
+		long elapsedNanos = System.nanoTime() - start;
+		result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+		result.setRowsPerSecond(elapsedNanos > 0 ? result.getRowsRead() * 1e9 / elapsedNanos : 0);
+		return result;
+	}
+
+	private void importChunk(List<SongImportDto> rows, SongImportResultDto result) {
+		Map<SongKey, Song> songsByKey = new HashMap<>();
+		Set<Long> existingSongIds = new HashSet<>();
+		Set<String> songTitles = rows
+				.stream()
+				.map(SongImportDto::getSongTitle)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toSet());
+		if(!songTitles.isEmpty()) {
+			for(Song song : songDao.findBySongTitleIn(songTitles)) {
+				songsByKey.put(SongKey.of(song.getSongTitle(), song.getSongAlbum(), song.getSongArtist()), song);
+				existingSongIds.add(song.getSongId());
+			}
+		}
+		Set<Long> playlistIds = rows
+				.stream()
+				.flatMap(row -> row.getPlaylistIds().stream())
+				.collect(Collectors.toSet());
+		Set<Long> knownPlaylistIds = playlistIds.isEmpty() ?
+				Set.of() : new HashSet<>(playlistDao.findExistingPlaylistIds(playlistIds));
+
+		List<Song> rowSongs = new ArrayList<>(rows.size());
+		List<Song> newSongs = new ArrayList<>();
+		long rejectedRows = 0;
+		long duplicateSongs = 0;
+		for(SongImportDto row : rows) {
+			if(row.getSongTitle() == null || row.getSongTitle().isBlank() || !hasValidDuration(row)) {
+				rejectedRows++;
+				rowSongs.add(null);
+				continue;
+			}
+			SongKey key = SongKey.of(row.getSongTitle(), row.getSongAlbum(), row.getSongArtist());
+			Song song = songsByKey.get(key);
+			if(song == null) {
+				song = new Song();
+				song.setSongTitle(row.getSongTitle());
+				song.setSongAlbum(row.getSongAlbum());
+				song.setSongDurationSeconds(DurationMapper.parseSeconds(row.getSongDuration()));
+				song.setSongArtist(row.getSongArtist());
+				songsByKey.put(key, song);
+				newSongs.add(song);
+			} else {
+				duplicateSongs++;
+			}
+			rowSongs.add(song);
+		}
+		songDao.saveAll(newSongs);
+		entityManager.flush();
+		newSongs.forEach(song -> eventPublisher.publishEvent(new SongChangedEvent(new SongSummary(
+				song.getSongId(), song.getSongTitle(), song.getSongArtist(), song.getSongAlbum()))));
+
+		Set<PlaylistSongLink> links = new LinkedHashSet<>();
+		Set<Long> linkedExistingSongIds = new HashSet<>();
+		Set<Long> playlistIdsOfExistingSongs = new HashSet<>();
+		long unknownPlaylistIds = 0;
+		for(int i = 0; i < rows.size(); i++) {
+			Song song = rowSongs.get(i);
+			if(song == null) {
+				continue;
+			}
+			for(Long playlistId : rows.get(i).getPlaylistIds()) {
+				if(knownPlaylistIds.contains(playlistId)) {
+					links.add(new PlaylistSongLink(playlistId, song.getSongId()));
+					if(existingSongIds.contains(song.getSongId())) {
+						linkedExistingSongIds.add(song.getSongId());
+						playlistIdsOfExistingSongs.add(playlistId);
+					}
+				} else {
+					unknownPlaylistIds++;
+				}
+			}
+		}
+		links.removeAll(playlistSongDao.findBySongIdsAndPlaylistIds(linkedExistingSongIds, playlistIdsOfExistingSongs));
+		Set<Long> linkedPlaylistIds = links.stream().map(PlaylistSongLink::playlistId).collect(Collectors.toSet());
+		Set<Long> linkedSongIds = links.stream().map(PlaylistSongLink::songId).collect(Collectors.toSet());
+		aggregateVersionDao.bumpPlaylists(linkedPlaylistIds);
+		aggregateVersionDao.bumpSongs(linkedSongIds);
+		List<PlaylistSongLink> insertedLinks = new ArrayList<>(links.size());
+		Iterator<PlaylistSongLink> candidates = links.iterator();
+		for(int[] batchCounts : playlistSongDao.insertIfAbsent(links)) {
+			for(int count : batchCounts) {
+				PlaylistSongLink link = candidates.next();
+				if(count > 0) {
+					insertedLinks.add(link);
+				}
+			}
+		}
+		libraryChangeDao.recordSongChanges(insertedLinks, LibraryChangeType.SONG_ADDED);
+		Set<Long> insertedPlaylistIds = insertedLinks
+				.stream()
+				.map(PlaylistSongLink::playlistId)
+				.collect(Collectors.toSet());
+		Set<Long> insertedSongIds = insertedLinks
+				.stream()
+				.map(PlaylistSongLink::songId)
+				.collect(Collectors.toSet());
+		Map<Long, Long> songDurations = songsByKey
+				.values()
+				.stream()
+				.collect(Collectors.toMap(Song::getSongId, song -> song.getSongDurationSeconds() != null ?
+						song.getSongDurationSeconds().longValue() : 0L));
+		playlistAggregateDao.adjust(insertedLinks
+				.stream()
+				.collect(Collectors.groupingBy(PlaylistSongLink::playlistId))
+				.entrySet()
+				.stream()
+				.map(entry -> new PlaylistAggregateDelta(entry.getKey(), entry.getValue().size(), entry.getValue()
+						.stream()
+						.mapToLong(link -> songDurations.get(link.songId()))
+						.sum()))
+				.toList());
+		cacheService.evictPlaylists(insertedPlaylistIds);
+		cacheService.evictMemberships(insertedPlaylistIds, insertedSongIds);
+		if(!insertedPlaylistIds.isEmpty()) {
+			eventPublisher.publishEvent(new PlaylistSongsChangedEvent(insertedPlaylistIds));
+		}
+		entityManager.clear();
+
+		result.setRowsRead(result.getRowsRead() + rows.size());
+		result.setRejectedRows(result.getRejectedRows() + rejectedRows);
+		result.setSongsInserted(result.getSongsInserted() + newSongs.size());
+		result.setDuplicateSongs(result.getDuplicateSongs() + duplicateSongs);
+		result.setPlaylistSongsAdded(result.getPlaylistSongsAdded() + insertedLinks.size());
+		result.setUnknownPlaylistIds(result.getUnknownPlaylistIds() + unknownPlaylistIds);
+	}
+
+	private boolean hasValidDuration(SongImportDto row) {
+		try {
+			DurationMapper.parseSeconds(row.getSongDuration());
+			return true;
+		} catch(IllegalArgumentException e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,322 @@
+package music.app.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import music.app.controller.model.SongSearchHitDto;
+import music.app.dao.SongSummary;
+
+/**
+ * In-memory inverted index over song titles, artists and albums. Every query token must match a
+ * token of the song exactly or, from two characters on, as a prefix. Each token is indexed under
+ * itself and under its prefixes, and each posting list is split by the score the song earns for
+ * that term, so a search walks the best songs first and stops once {@code limit} hits are certain.
+ * Not thread-safe.
+ */
+public final class SongSearchIndex {
+
+	private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+	private static final int MIN_PREFIX_LENGTH = 2;
+
+	/**
+	 * Weights are doubled so that a prefix match, worth half a field, stays an integer impact.
+	 */
+	private enum SearchField {
+		TITLE(6), ARTIST(4), ALBUM(2);
+
+		private final int exactImpact;
+
+		SearchField(int exactImpact) {
+			this.exactImpact = exactImpact;
+		}
+	}
+
+	private static final SearchField[] FIELDS = SearchField.values();
+
+	private record Hit(long songId, int impact) {
+	}
+
+	private static final Comparator<Hit> WORST_FIRST = Comparator.comparingInt(Hit::impact)
+			.thenComparing(Comparator.comparingLong(Hit::songId).reversed());
+
+	/**
+	 * Song ids of one term grouped by impact, highest impact first, each group sorted by id.
+	 */
+	private static final class Postings {
+
+		private int[] impacts = new int[0];
+		private long[][] songIds = new long[0][];
+		private int[] sizes = new int[0];
+		private int size;
+
+		void add(long songId, int impact) {
+			int level = 0;
+			while(level < impacts.length && impacts[level] > impact) {
+				level++;
+			}
+			if(level == impacts.length || impacts[level] != impact) {
+				impacts = insert(impacts, level, impact);
+				songIds = insert(songIds, level, new long[2]);
+				sizes = insert(sizes, level, 0);
+			}
+			long[] ids = songIds[level];
+			int count = sizes[level];
+			int index = count == 0 || ids[count - 1] < songId ? -(count + 1) : Arrays.binarySearch(ids, 0, count, songId);
+			if(index >= 0) {
+				return;
+			}
+			int insertAt = -(index + 1);
+			if(count == ids.length) {
+				ids = songIds[level] = Arrays.copyOf(ids, count + (count >> 1) + 1);
+			}
+			System.arraycopy(ids, insertAt, ids, insertAt + 1, count - insertAt);
+			ids[insertAt] = songId;
+			sizes[level]++;
+			size++;
+		}
+
+		boolean remove(long songId, int impact) {
+			int level = 0;
+			while(level < impacts.length && impacts[level] != impact) {
+				level++;
+			}
+			if(level == impacts.length) {
+				return false;
+			}
+			int index = Arrays.binarySearch(songIds[level], 0, sizes[level], songId);
+			if(index < 0) {
+				return false;
+			}
+			System.arraycopy(songIds[level], index + 1, songIds[level], index, sizes[level] - index - 1);
+			sizes[level]--;
+			size--;
+			if(sizes[level] == 0) {
+				impacts = delete(impacts, level);
+				songIds = delete(songIds, level);
+				sizes = delete(sizes, level);
+			}
+			return true;
+		}
+
+		int impactOf(long songId) {
+			for(int level = 0; level < impacts.length; level++) {
+				if(Arrays.binarySearch(songIds[level], 0, sizes[level], songId) >= 0) {
+					return impacts[level];
+				}
+			}
+			return 0;
+		}
+
+		int maxImpact() {
+			return impacts[0];
+		}
+
+		long capacity() {
+			long capacity = 0;
+			for(long[] ids : songIds) {
+				capacity += ids.length;
+			}
+			return capacity;
+		}
+	}
+
+	private final Map<Long, SongSummary> songs = new HashMap<>();
+	private final Map<String, Postings> terms = new HashMap<>();
+	private long postingCount;
+
+	public static Set<String> tokenize(String value) {
+		Set<String> tokens = new LinkedHashSet<>();
+		if(value == null) {
+			return tokens;
+		}
+		String normalized = DIACRITICS
+				.matcher(Normalizer.normalize(value, Normalizer.Form.NFD))
+				.replaceAll("")
+				.toLowerCase(Locale.ROOT);
+		for(String token : SEPARATORS.split(normalized)) {
+			if(!token.isEmpty()) {
+				tokens.add(token);
+			}
+		}
+		return tokens;
+	}
+
+	public void add(SongSummary song) {
+		remove(song.songId());
+		songs.put(song.songId(), song);
+		impactsByTerm(song).forEach((term, impact) -> {
+			terms.computeIfAbsent(term, key -> new Postings()).add(song.songId(), impact);
+			postingCount++;
+		});
+	}
+
+	public void remove(long songId) {
+		SongSummary song = songs.remove(songId);
+		if(song == null) {
+			return;
+		}
+		impactsByTerm(song).forEach((term, impact) -> {
+			Postings postings = terms.get(term);
+			if(postings != null && postings.remove(songId, impact)) {
+				postingCount--;
+				if(postings.size == 0) {
+					terms.remove(term);
+				}
+			}
+		});
+	}
+
+	public List<SongSearchHitDto> search(Collection<String> queryTokens, int limit) {
+		List<Postings> matches = new ArrayList<>(queryTokens.size());
+		for(String token : queryTokens) {
+			Postings postings = terms.get(token);
+			if(postings == null) {
+				return List.of();
+			}
+			matches.add(postings);
+		}
+		matches.sort(Comparator.comparingInt(postings -> postings.size));
+		Postings driver = matches.get(0);
+		List<Postings> others = matches.subList(1, matches.size());
+		int othersMaxImpact = others.stream().mapToInt(Postings::maxImpact).sum();
+		PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, WORST_FIRST);
+		for(int level = 0; level < driver.impacts.length; level++) {
+			int bound = driver.impacts[level] + othersMaxImpact;
+			if(best.size() == limit && bound < best.peek().impact()) {
+				break;
+			}
+			long[] songIds = driver.songIds[level];
+			for(int i = 0; i < driver.sizes[level]; i++) {
+				long songId = songIds[i];
+				if(best.size() == limit && bound == best.peek().impact() && songId > best.peek().songId()) {
+					break;
+				}
+				int impact = driver.impacts[level];
+				for(int j = 0; j < others.size() && impact > 0; j++) {
+					int otherImpact = others.get(j).impactOf(songId);
+					impact = otherImpact > 0 ? impact + otherImpact : 0;
+				}
+				if(impact > 0) {
+					Hit hit = new Hit(songId, impact);
+					if(best.size() < limit || WORST_FIRST.compare(hit, best.peek()) > 0) {
+						best.offer(hit);
+						if(best.size() > limit) {
+							best.poll();
+						}
+					}
+				}
+			}
+		}
+		List<Hit> ranked = new ArrayList<>(best);
+		ranked.sort(WORST_FIRST.reversed());
+		List<SongSearchHitDto> hits = new ArrayList<>(ranked.size());
+		for(Hit hit : ranked) {
+			SongSummary song = songs.get(hit.songId());
+			hits.add(new SongSearchHitDto(song.songId(), song.songTitle(), song.songArtist(),
+					song.songAlbum(), hit.impact() / 2.0));
+		}
+		return hits;
+	}
+
+	public SongSummary findSong(long songId) {
+		return songs.get(songId);
+	}
+
+	public int songCount() {
+		return songs.size();
+	}
+
+	public int termCount() {
+		return terms.size();
+	}
+
+	public long postingCount() {
+		return postingCount;
+	}
+
+	public long estimatedBytes() {
+		long bytes = songs.size() * 48L;
+		for(SongSummary song : songs.values()) {
+			bytes += 32 + stringBytes(song.songTitle()) + stringBytes(song.songArtist())
+					+ stringBytes(song.songAlbum());
+		}
+		for(Map.Entry<String, Postings> term : terms.entrySet()) {
+			Postings postings = term.getValue();
+			bytes += 32 + stringBytes(term.getKey()) + 32 + postings.impacts.length * 36L + postings.capacity() * 8;
+		}
+		return bytes;
+	}
+
+	/**
+	 * Impact of every term the song is found under: a field adds its full impact when the term is
+	 * one of its tokens and half of it when the term only starts one.
+	 */
+	private static Map<String, Integer> impactsByTerm(SongSummary song) {
+		Map<String, Integer> impacts = new HashMap<>();
+		for(SearchField field : FIELDS) {
+			Map<String, Integer> fieldImpacts = new HashMap<>();
+			for(String token : tokenize(fieldValue(song, field))) {
+				fieldImpacts.put(token, field.exactImpact);
+				for(int length = MIN_PREFIX_LENGTH; length < token.length(); length++) {
+					fieldImpacts.putIfAbsent(token.substring(0, length), field.exactImpact / 2);
+				}
+			}
+			fieldImpacts.forEach((term, impact) -> impacts.merge(term, impact, Integer::sum));
+		}
+		return impacts;
+	}
+
+	private static String fieldValue(SongSummary song, SearchField field) {
+		return switch(field) {
+			case TITLE -> song.songTitle();
+			case ARTIST -> song.songArtist();
+			case ALBUM -> song.songAlbum();
+		};
+	}
+
+	private static long stringBytes(String value) {
+		return value != null ? 40 + value.length() : 0;
+	}
+
+	private static int[] insert(int[] values, int index, int value) {
+		int[] inserted = new int[values.length + 1];
+		System.arraycopy(values, 0, inserted, 0, index);
+		inserted[index] = value;
+		System.arraycopy(values, index, inserted, index + 1, values.length - index);
+		return inserted;
+	}
+
+	private static long[][] insert(long[][] values, int index, long[] value) {
+		long[][] inserted = new long[values.length + 1][];
+		System.arraycopy(values, 0, inserted, 0, index);
+		inserted[index] = value;
+		System.arraycopy(values, index, inserted, index + 1, values.length - index);
+		return inserted;
+	}
+
+	private static int[] delete(int[] values, int index) {
+		int[] deleted = new int[values.length - 1];
+		System.arraycopy(values, 0, deleted, 0, index);
+		System.arraycopy(values, index + 1, deleted, index, deleted.length - index);
+		return deleted;
+	}
+
+	private static long[][] delete(long[][] values, int index) {
+		long[][] deleted = new long[values.length - 1][];
+		System.arraycopy(values, 0, deleted, 0, index);
+		System.arraycopy(values, index + 1, deleted, index, deleted.length - index);
+		return deleted;
+	}
+}
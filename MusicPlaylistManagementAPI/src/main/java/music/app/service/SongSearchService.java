@@ -0,0 +1,159 @@
+package music.app.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.extern.slf4j.Slf4j;
+import music.app.controller.model.SongSearchHitDto;
+import music.app.controller.model.SongSearchStatsDto;
+import music.app.dao.SongDao;
+import music.app.dao.SongSummary;
+import music.app.service.event.SongChangedEvent;
+import music.app.service.event.SongDeletedEvent;
+
+@Service
+@Slf4j
+public class SongSearchService {
+
+	@Autowired
+	private SongDao songDao;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final ReentrantLock maintenanceLock = new ReentrantLock();
+	private SongSearchIndex index = new SongSearchIndex();
+	// Changes committed while a rebuild streams the songs, replayed onto the new index before the swap.
+	private List<Consumer<SongSearchIndex>> changesDuringRebuild;
+	private long lastBuildMillis;
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public void rebuild() {
+		maintenanceLock.lock();
+		try {
+			rebuildIndex();
+		} finally {
+			maintenanceLock.unlock();
+		}
+		SongSearchStatsDto stats = getStatistics();
+		log.info("Indexed {} songs ({} terms, ~{} KB) for search in {} ms.", stats.getSongCount(),
+				stats.getTermCount(), stats.getEstimatedIndexBytes() / 1024, stats.getLastBuildMillis());
+	}
+
+	private void rebuildIndex() {
+		long start = System.nanoTime();
+		lock.writeLock().lock();
+		try {
+			changesDuringRebuild = new ArrayList<>();
+		} finally {
+			lock.writeLock().unlock();
+		}
+		SongSearchIndex built = new SongSearchIndex();
+		boolean complete = false;
+		try(Stream<SongSummary> summaries = songDao.streamAllSongSummaries()) {
+			summaries.forEach(built::add);
+			complete = true;
+		} finally {
+			lock.writeLock().lock();
+			try {
+				if(complete) {
+					changesDuringRebuild.forEach(change -> change.accept(built));
+					index = built;
+					lastBuildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+				}
+				changesDuringRebuild = null;
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onSongChanged(SongChangedEvent event) {
+		apply(index -> index.add(event.song()));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onSongDeleted(SongDeletedEvent event) {
+		apply(index -> index.remove(event.songId()));
+	}
+
+	private void apply(Consumer<SongSearchIndex> change) {
+		lock.writeLock().lock();
+		try {
+			change.accept(index);
+			if(changesDuringRebuild != null) {
+				changesDuringRebuild.add(change);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public List<SongSearchHitDto> search(String query, int limit) {
+		List<String> queryTokens = new ArrayList<>(SongSearchIndex.tokenize(query));
+		if(queryTokens.isEmpty()) {
+			throw new IllegalArgumentException("Search query must contain at least one letter or digit.");
+		}
+		lock.readLock().lock();
+		try {
+			return index.search(queryTokens, limit);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public boolean containsSong(Long songId) {
+		lock.readLock().lock();
+		try {
+			return index.findSong(songId) != null;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public Map<Long, SongSummary> findSongs(Collection<Long> songIds) {
+		lock.readLock().lock();
+		try {
+			Map<Long, SongSummary> found = new HashMap<>();
+			for(Long songId : songIds) {
+				SongSummary song = index.findSong(songId);
+				if(song != null) {
+					found.put(songId, song);
+				}
+			}
+			return found;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public SongSearchStatsDto getStatistics() {
+		lock.readLock().lock();
+		try {
+			SongSearchStatsDto stats = new SongSearchStatsDto();
+			stats.setSongCount(index.songCount());
+			stats.setTermCount(index.termCount());
+			stats.setPostingCount(index.postingCount());
+			stats.setEstimatedIndexBytes(index.estimatedBytes());
+			stats.setLastBuildMillis(lastBuildMillis);
+			return stats;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+}
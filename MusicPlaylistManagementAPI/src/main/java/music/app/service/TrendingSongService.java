@@ -0,0 +1,183 @@
+package music.app.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import music.app.controller.model.TrendingSongDto;
+import music.app.dao.SongSummary;
+import music.app.service.event.SongsAddedToPlaylistEvent;
+
+/**
+ * Ranks songs by playlist adds within a recent window, from per-bucket Misra-Gries counters kept
+ * in memory. Counts may be low by the summary error bound and charts lag adds by up to
+ * {@code music.app.trending.refresh-ms}.
+ */
+@Service
+public class TrendingSongService {
+
+	public static final int MAX_CHART_SIZE = 100;
+
+	private static final class Bucket {
+
+		private long epoch = -1;
+		private final Map<Long, long[]> counts = new HashMap<>();
+
+		void add(Long songId, int capacity) {
+			long[] count = counts.get(songId);
+			if(count != null) {
+				count[0]++;
+			} else if(counts.size() < capacity) {
+				counts.put(songId, new long[] {1});
+			} else {
+				Iterator<long[]> iterator = counts.values().iterator();
+				while(iterator.hasNext()) {
+					if(--iterator.next()[0] == 0) {
+						iterator.remove();
+					}
+				}
+			}
+		}
+	}
+
+	private record Chart(long computedAtMillis, List<TrendingSongDto> songs) {
+	}
+
+	@Autowired
+	private SongSearchService songSearchService;
+	@Autowired
+	private MeterRegistry meterRegistry;
+	@Value("${music.app.trending.bucket:1m}")
+	private Duration bucketDuration;
+	@Value("${music.app.trending.max-window:24h}")
+	private Duration maxWindow;
+	@Value("${music.app.trending.counters-per-bucket:256}")
+	private int countersPerBucket;
+	@Value("${music.app.trending.refresh-ms:1000}")
+	private long refreshMillis;
+
+	private Bucket[] buckets;
+	private long bucketMillis;
+	private final Map<Integer, Chart> charts = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	public void init() {
+		bucketMillis = bucketDuration.toMillis();
+		if(bucketMillis <= 0 || maxWindow.toMillis() < bucketMillis) {
+			throw new IllegalStateException("Trending max-window must be at least one positive bucket long.");
+		}
+		buckets = new Bucket[(int) ((maxWindow.toMillis() + bucketMillis - 1) / bucketMillis)];
+		for(int i = 0; i < buckets.length; i++) {
+			buckets[i] = new Bucket();
+		}
+		Gauge.builder("music.app.trending.counters", this, TrendingSongService::countersInUse)
+				.description("Song counters held by the trending chart buckets")
+				.register(meterRegistry);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onSongsAddedToPlaylist(SongsAddedToPlaylistEvent event) {
+		long epoch = System.currentTimeMillis() / bucketMillis;
+		synchronized(buckets) {
+			Bucket bucket = currentBucket(epoch);
+			for(Long songId : event.songIds()) {
+				bucket.add(songId, countersPerBucket);
+			}
+		}
+	}
+
+	public List<TrendingSongDto> getTrendingSongs(String window, int limit) {
+		int windowBuckets = parseWindow(window);
+		long now = System.currentTimeMillis();
+		Chart chart = charts.get(windowBuckets);
+		if(chart == null || now - chart.computedAtMillis() >= refreshMillis) {
+			chart = new Chart(now, computeChart(now / bucketMillis, windowBuckets));
+			charts.put(windowBuckets, chart);
+		}
+		List<TrendingSongDto> songs = chart.songs();
+		return songs.subList(0, Math.min(limit, songs.size()));
+	}
+
+	private int parseWindow(String window) {
+		Duration duration;
+		try {
+			duration = DurationStyle.detectAndParse(window);
+		} catch(IllegalArgumentException e) {
+			throw new IllegalArgumentException("Window '" + window + "' is not a duration such as 15m, 1h or 24h.");
+		}
+		if(duration.isNegative() || duration.isZero() || duration.compareTo(maxWindow) > 0) {
+			throw new IllegalArgumentException("Window must be positive and at most " + maxWindow + ".");
+		}
+		return (int) Math.min((duration.toMillis() + bucketMillis - 1) / bucketMillis, buckets.length);
+	}
+
+	private List<TrendingSongDto> computeChart(long currentEpoch, int windowBuckets) {
+		Map<Long, long[]> totals = new HashMap<>();
+		synchronized(buckets) {
+			for(long epoch = currentEpoch - windowBuckets + 1; epoch <= currentEpoch; epoch++) {
+				Bucket bucket = buckets[(int) Math.floorMod(epoch, (long) buckets.length)];
+				if(bucket.epoch != epoch) {
+					continue;
+				}
+				bucket.counts.forEach((songId, count) ->
+						totals.computeIfAbsent(songId, id -> new long[1])[0] += count[0]);
+			}
+		}
+		Comparator<Map.Entry<Long, long[]>> byCount = Comparator
+				.comparingLong((Map.Entry<Long, long[]> entry) -> entry.getValue()[0])
+				.thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+		PriorityQueue<Map.Entry<Long, long[]>> top = new PriorityQueue<>(byCount);
+		Map<Long, SongSummary> songs = songSearchService.findSongs(totals.keySet());
+		for(Map.Entry<Long, long[]> total : totals.entrySet()) {
+			if(!songs.containsKey(total.getKey())) {
+				continue;
+			}
+			top.add(total);
+			if(top.size() > MAX_CHART_SIZE) {
+				top.poll();
+			}
+		}
+		List<TrendingSongDto> chart = new ArrayList<>(top.size());
+		while(!top.isEmpty()) {
+			Map.Entry<Long, long[]> total = top.poll();
+			SongSummary song = songs.get(total.getKey());
+			chart.add(new TrendingSongDto(song.songId(), song.songTitle(), song.songArtist(), song.songAlbum(),
+					total.getValue()[0]));
+		}
+		return chart.reversed();
+	}
+
+	private Bucket currentBucket(long epoch) {
+		Bucket bucket = buckets[(int) Math.floorMod(epoch, (long) buckets.length)];
+		if(bucket.epoch != epoch) {
+			bucket.epoch = epoch;
+			bucket.counts.clear();
+		}
+		return bucket;
+	}
+
+	private long countersInUse() {
+		long counters = 0;
+		synchronized(buckets) {
+			for(Bucket bucket : buckets) {
+				counters += bucket.counts.size();
+			}
+		}
+		return counters;
+	}
+}
@@ -0,0 +1,180 @@
+package music.app.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import music.app.controller.model.UserDto;
+import music.app.dao.AggregateVersionDao;
+import music.app.dao.LibraryChangeDao;
+import music.app.dao.UserView;
+import music.app.dao.UserViewDao;
+
+/**
+ * Serves {@code GET /users/{userId}} from a stored, pre-serialized {@link UserDto}. A view is used
+ * only when its version matches the user's {@code library_version}; otherwise the read falls back to
+ * the live path and the view is rebuilt on the next scheduled refresh.
+ */
+@Service
+@Slf4j
+public class UserViewService {
+
+	public static final String GZIP = "gzip";
+	public static final String IDENTITY = "identity";
+
+	@Autowired
+	private UserViewDao userViewDao;
+	@Autowired
+	private LibraryChangeDao libraryChangeDao;
+	@Autowired
+	private AggregateVersionDao aggregateVersionDao;
+	@Autowired
+	private MusicAppService musicAppService;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private MeterRegistry meterRegistry;
+	@Value("${music.app.user-view.enabled:true}")
+	private boolean enabled;
+	@Value("${music.app.user-view.compress:true}")
+	private boolean compress;
+	@Value("${music.app.user-view.max-rebuilds-per-run:500}")
+	private int maxRebuildsPerRun;
+
+	private final Set<Long> pendingUserIds = ConcurrentHashMap.newKeySet();
+	private long lastChangeId = -1;
+	private Counter hits;
+	private Counter misses;
+	private Counter rebuilds;
+
+	@PostConstruct
+	public void registerMetrics() {
+		hits = Counter.builder("music.app.user.view.reads")
+				.description("User reads served from the materialized view or the live path")
+				.tag("result", "hit")
+				.register(meterRegistry);
+		misses = Counter.builder("music.app.user.view.reads")
+				.description("User reads served from the materialized view or the live path")
+				.tag("result", "miss")
+				.register(meterRegistry);
+		rebuilds = Counter.builder("music.app.user.view.rebuilds")
+				.description("User views serialized and stored")
+				.register(meterRegistry);
+		Gauge.builder("music.app.user.view.pending", pendingUserIds, Set::size)
+				.description("Users waiting for a view rebuild")
+				.register(meterRegistry);
+	}
+
+	@Transactional(readOnly = true)
+	public Optional<UserView> findCurrentView(Long userId, long version) {
+		if(!enabled) {
+			return Optional.empty();
+		}
+		Optional<UserView> view = userViewDao.findUserView(userId, version);
+		if(view.isPresent()) {
+			hits.increment();
+		} else {
+			misses.increment();
+			pendingUserIds.add(userId);
+		}
+		return view;
+	}
+
+	public byte[] decode(UserView view) {
+		if(!GZIP.equals(view.contentEncoding())) {
+			return view.body();
+		}
+		try(InputStream input = new GZIPInputStream(new ByteArrayInputStream(view.body()))) {
+			return input.readAllBytes();
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${music.app.user-view.refresh-interval-ms:500}")
+	public void refresh() {
+		if(!enabled) {
+			return;
+		}
+		Set<Long> userIds = new LinkedHashSet<>();
+		try {
+			if(lastChangeId < 0) {
+				lastChangeId = libraryChangeDao.findLastChangeId();
+			} else {
+				Map<Long, Long> changedUsers = libraryChangeDao.findLastChangeIdsByUserAfter(lastChangeId, maxRebuildsPerRun);
+				userIds.addAll(changedUsers.keySet());
+				lastChangeId = changedUsers.values().stream().mapToLong(Long::longValue).reduce(lastChangeId, Math::max);
+			}
+		} catch(RuntimeException e) {
+			log.warn("Could not read library changes, retrying on the next run.", e);
+		}
+		for(Long userId : pendingUserIds) {
+			if(userIds.size() >= maxRebuildsPerRun) {
+				break;
+			}
+			userIds.add(userId);
+		}
+		pendingUserIds.removeAll(userIds);
+		for(Long userId : userIds) {
+			try {
+				transactionTemplate.executeWithoutResult(status -> rebuild(userId));
+			} catch(RuntimeException e) {
+				log.warn("Could not rebuild the view of user with ID={}.", userId, e);
+			}
+		}
+	}
+
+	private void rebuild(Long userId) {
+		Optional<Long> version = aggregateVersionDao.findUserVersion(userId);
+		if(version.isEmpty()) {
+			userViewDao.delete(userId);
+			return;
+		}
+		if(version.equals(userViewDao.findVersion(userId))) {
+			return;
+		}
+		UserDto user = musicAppService.findUser(userId, true, true);
+		userViewDao.save(userId, new UserView(version.get(), compress ? GZIP : IDENTITY, serialize(user)));
+		rebuilds.increment();
+	}
+
+	private byte[] serialize(UserDto user) {
+		try {
+			if(!compress) {
+				return objectMapper.writeValueAsBytes(user);
+			}
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try(GZIPOutputStream output = new GZIPOutputStream(bytes)) {
+				objectMapper.writeValue(output, user);
+			}
+			return bytes.toByteArray();
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,6 @@
+package music.app.service.event;
+
+import music.app.dao.SongSummary;
+
+public record SongChangedEvent(SongSummary song) {
+}
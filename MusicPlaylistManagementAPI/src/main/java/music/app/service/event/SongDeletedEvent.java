@@ -0,0 +1,4 @@
+package music.app.service.event;
+
+public record SongDeletedEvent(Long songId) {
+}
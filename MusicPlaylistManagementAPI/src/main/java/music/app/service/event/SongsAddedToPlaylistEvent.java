@@ -0,0 +1,6 @@
+package music.app.service.event;
+
+import java.util.Collection;
+
+public record SongsAddedToPlaylistEvent(Long playlistId, Collection<Long> songIds) {
+}
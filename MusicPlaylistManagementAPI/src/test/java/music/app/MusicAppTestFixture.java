@@ -0,0 +1,86 @@
+package music.app;
+
+import static music.app.monitor.SqlBudgetMatchers.withinSqlBudget;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Creates users, songs and playlists through the API for tests that share the in-memory database.
+ * Names carry a JVM-wide sequence number so tests never collide.
+ */
+public class MusicAppTestFixture {
+
+	private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+	private final MockMvc mockMvc;
+	private final ObjectMapper objectMapper;
+	private final JdbcTemplate jdbcTemplate;
+
+	public MusicAppTestFixture(MockMvc mockMvc, ObjectMapper objectMapper, JdbcTemplate jdbcTemplate) {
+		this.mockMvc = mockMvc;
+		this.objectMapper = objectMapper;
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	public Long createUser() throws Exception {
+		int id = SEQUENCE.incrementAndGet();
+		MvcResult result = mockMvc.perform(post("/app/users")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(Map.of(
+						"userName", "test-user-" + id, "userEmail", "test-user-" + id + "@example.com"))))
+				.andExpect(status().isCreated())
+				.andReturn();
+		return objectMapper.readTree(result.getResponse().getContentAsString()).get("userId").asLong();
+	}
+
+	public List<Long> importSongs(int count) throws Exception {
+		return importSongs(Collections.nCopies(count, "artist"));
+	}
+
+	public List<Long> importSongs(List<String> artists) throws Exception {
+		String prefix = "test-song-" + SEQUENCE.incrementAndGet() + "-";
+		List<Map<String, Object>> songs = new ArrayList<>();
+		for(int i = 0; i < artists.size(); i++) {
+			songs.add(Map.of("songTitle", prefix + i, "songAlbum", "album", "songArtist", artists.get(i),
+					"songDuration", "3:00"));
+		}
+		mockMvc.perform(post("/app/songs/import")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(songs)))
+				.andExpect(status().is2xxSuccessful());
+		return jdbcTemplate.queryForList(
+				"SELECT song_id FROM song WHERE song_title LIKE ? ORDER BY song_id", Long.class, prefix + "%");
+	}
+
+	public MvcResult createPlaylist(Long userId, List<Long> songIds) throws Exception {
+		List<Map<String, Object>> songs = songIds.stream().map(songId -> Map.<String, Object>of("songId", songId)).toList();
+		return mockMvc.perform(post("/app/users/{userId}/playlists", userId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(Map.of(
+						"playlistTitle", "test-playlist", "imageUrl", "https://example.com/cover.png", "songs", songs))))
+				.andExpect(status().isCreated())
+				.andExpect(withinSqlBudget())
+				.andReturn();
+	}
+
+	public Long createPlaylistId(Long userId, List<Long> songIds) throws Exception {
+		return playlistId(createPlaylist(userId, songIds));
+	}
+
+	private Long playlistId(MvcResult result) throws Exception {
+		return objectMapper.readTree(result.getResponse().getContentAsString()).get("playlistId").asLong();
+	}
+}
@@ -0,0 +1,161 @@
+package music.app.controller;
+
+import static music.app.monitor.SqlBudgetMatchers.statements;
+import static music.app.monitor.SqlBudgetMatchers.withinSqlBudget;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import music.app.MusicAppTestFixture;
+
+/**
+ * Requests against endpoints that used to issue one statement per song or playlist. Each test runs
+ * the same request over a small and a large data set and expects the same statement count.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MusicAppControllerSqlBudgetTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private MusicAppTestFixture fixture;
+
+	@BeforeEach
+	void createFixture() {
+		fixture = new MusicAppTestFixture(mockMvc, objectMapper, jdbcTemplate);
+	}
+
+	@Test
+	void createPlaylistForUserDoesNotQueryPerSong() throws Exception {
+		Long userId = fixture.createUser();
+		List<Long> songIds = fixture.importSongs(20);
+
+		int oneSong = statements(fixture.createPlaylist(userId, songIds.subList(0, 1)));
+		int twentySongs = statements(fixture.createPlaylist(userId, songIds));
+
+		assertEquals(oneSong, twentySongs);
+	}
+
+	@Test
+	void listAllPlaylistsOfUserDoesNotQueryPerPlaylist() throws Exception {
+		List<Long> songIds = fixture.importSongs(5);
+		Long smallUserId = fixture.createUser();
+		fixture.createPlaylist(smallUserId, songIds);
+		Long largeUserId = fixture.createUser();
+		for(int i = 0; i < 10; i++) {
+			fixture.createPlaylist(largeUserId, songIds);
+		}
+
+		int onePlaylist = statements(listPlaylists(smallUserId));
+		int tenPlaylists = statements(listPlaylists(largeUserId));
+
+		assertEquals(onePlaylist, tenPlaylists);
+	}
+
+	@Test
+	void updateSongsOfPlaylistDoesNotQueryPerSong() throws Exception {
+		Long userId = fixture.createUser();
+		List<Long> songIds = fixture.importSongs(21);
+		Long smallPlaylistId = fixture.createPlaylistId(userId, List.of());
+		Long largePlaylistId = fixture.createPlaylistId(userId, List.of());
+
+		int oneSong = statements(addSongs(userId, smallPlaylistId, songIds.subList(0, 1)));
+		int twentySongs = statements(addSongs(userId, largePlaylistId, songIds.subList(1, 21)));
+
+		assertEquals(oneSong, twentySongs);
+	}
+
+	@Test
+	void listAllSongsOfPlaylistDoesNotQueryPerSong() throws Exception {
+		Long userId = fixture.createUser();
+		List<Long> songIds = fixture.importSongs(20);
+		Long smallPlaylistId = fixture.createPlaylistId(userId, songIds.subList(0, 1));
+		Long largePlaylistId = fixture.createPlaylistId(userId, songIds);
+
+		int oneSong = statements(listSongs(userId, smallPlaylistId));
+		int twentySongs = statements(listSongs(userId, largePlaylistId));
+
+		assertEquals(oneSong, twentySongs);
+	}
+
+	@Test
+	void revalidateFirstPageOfPlaylistDoesNotDependOnPlaylistSize() throws Exception {
+		Long userId = fixture.createUser();
+		List<Long> songIds = fixture.importSongs(20);
+		Long smallPlaylistId = fixture.createPlaylistId(userId, songIds.subList(0, 5));
+		Long largePlaylistId = fixture.createPlaylistId(userId, songIds);
+		Long otherPlaylistId = fixture.createPlaylistId(userId, List.of());
+		String smallETag = firstSongs(userId, smallPlaylistId, null).andExpect(status().isOk()).andReturn()
+				.getResponse().getHeader(HttpHeaders.ETAG);
+		String largeETag = firstSongs(userId, largePlaylistId, null).andExpect(status().isOk()).andReturn()
+				.getResponse().getHeader(HttpHeaders.ETAG);
+
+		addSongs(userId, otherPlaylistId, songIds.subList(5, 20));
+		int fiveSongs = statements(firstSongs(userId, smallPlaylistId, smallETag)
+				.andExpect(status().isNotModified()).andReturn());
+		int twentySongs = statements(firstSongs(userId, largePlaylistId, largeETag)
+				.andExpect(status().isNotModified()).andReturn());
+
+		assertEquals(fiveSongs, twentySongs);
+		addSongs(userId, otherPlaylistId, songIds.subList(0, 1));
+		firstSongs(userId, largePlaylistId, largeETag).andExpect(status().isOk());
+	}
+
+	private MvcResult listPlaylists(Long userId) throws Exception {
+		return mockMvc.perform(get("/app/users/{userId}/playlists", userId).param("include", "songs"))
+				.andExpect(status().isOk())
+				.andExpect(withinSqlBudget())
+				.andReturn();
+	}
+
+	private MvcResult addSongs(Long userId, Long playlistId, List<Long> songIds) throws Exception {
+		return mockMvc.perform(post("/app/users/{userId}/playlists/{playlistId}/songs/batch", userId, playlistId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(Map.of("addSongIds", songIds))))
+				.andExpect(status().isOk())
+				.andExpect(withinSqlBudget())
+				.andReturn();
+	}
+
+	private MvcResult listSongs(Long userId, Long playlistId) throws Exception {
+		return mockMvc.perform(get("/app/users/{userId}/playlists/{playlistId}/songs", userId, playlistId))
+				.andExpect(status().isOk())
+				.andExpect(withinSqlBudget())
+				.andReturn();
+	}
+
+	private ResultActions firstSongs(Long userId, Long playlistId, String eTag) throws Exception {
+		MockHttpServletRequestBuilder request = get("/app/users/{userId}/playlists/{playlistId}/songs", userId, playlistId)
+				.param("limit", "5");
+		if(eTag != null) {
+			request.header(HttpHeaders.IF_NONE_MATCH, eTag);
+		}
+		return mockMvc.perform(request).andExpect(withinSqlBudget());
+	}
+}
@@ -0,0 +1,114 @@
+package music.app.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import music.app.MusicAppTestFixture;
+
+/**
+ * Streams the reactive endpoints over R2DBC against the in-memory database the blocking endpoints
+ * write to.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReactiveMusicAppControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private MusicAppTestFixture fixture;
+
+	@BeforeEach
+	void createFixture() {
+		fixture = new MusicAppTestFixture(mockMvc, objectMapper, jdbcTemplate);
+	}
+
+	@Test
+	void streamSongsOfPlaylistWritesOneSongPerLineByArtist() throws Exception {
+		Long userId = fixture.createUser();
+		List<Long> songIds = fixture.importSongs(List.of("charlie", "alpha", "bravo"));
+		Long playlistId = fixture.createPlaylistId(userId, songIds);
+
+		List<JsonNode> songs = stream("/app/reactive/users/{userId}/playlists/{playlistId}/songs", userId, playlistId);
+
+		assertEquals(List.of("alpha", "bravo", "charlie"), songs.stream().map(song -> song.get("songArtist").asText()).toList());
+		assertEquals(List.of(songIds.get(1), songIds.get(2), songIds.get(0)),
+				songs.stream().map(song -> song.get("songId").asLong()).toList());
+		for(JsonNode song : songs) {
+			assertEquals(1, song.get("playlistIds").size());
+			assertEquals(playlistId, song.get("playlistIds").get(0).asLong());
+		}
+	}
+
+	@Test
+	void streamPlaylistsOfUserWritesOnePlaylistPerLine() throws Exception {
+		Long userId = fixture.createUser();
+		List<Long> songIds = fixture.importSongs(List.of("delta", "echo"));
+		Long firstPlaylistId = fixture.createPlaylistId(userId, songIds);
+		Long secondPlaylistId = fixture.createPlaylistId(userId, songIds.subList(0, 1));
+
+		List<JsonNode> playlists = stream("/app/reactive/users/{userId}/playlists", userId);
+
+		assertEquals(List.of(firstPlaylistId, secondPlaylistId),
+				playlists.stream().map(playlist -> playlist.get("playlistId").asLong()).toList());
+		assertEquals(2, playlists.get(0).get("songs").size());
+		assertEquals(1, playlists.get(1).get("songs").size());
+	}
+
+	@Test
+	void streamSongsOfPlaylistOfAnotherUserIsNotFound() throws Exception {
+		Long ownerId = fixture.createUser();
+		Long otherUserId = fixture.createUser();
+		Long playlistId = fixture.createPlaylistId(ownerId, fixture.importSongs(List.of("foxtrot")));
+
+		MvcResult result = mockMvc.perform(get("/app/reactive/users/{userId}/playlists/{playlistId}/songs",
+				otherUserId, playlistId))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isNotFound());
+	}
+
+	private List<JsonNode> stream(String path, Object... uriVariables) throws Exception {
+		MvcResult result = mockMvc.perform(get(path, uriVariables).accept(MediaType.APPLICATION_NDJSON))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+		List<JsonNode> elements = new ArrayList<>();
+		for(String line : result.getResponse().getContentAsString().split("\n")) {
+			if(!line.isBlank()) {
+				elements.add(objectMapper.readTree(line));
+			}
+		}
+		return elements;
+	}
+}
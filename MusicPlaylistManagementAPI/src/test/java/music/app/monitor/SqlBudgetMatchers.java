@@ -0,0 +1,38 @@
+package music.app.monitor;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.web.method.HandlerMethod;
+
+/**
+ * MockMvc checks against the {@link SqlBudget} of the handler that served a request. They read the
+ * {@code X-SQL-*} headers, so {@code music.app.sql-stats.response-headers} must be enabled.
+ */
+public final class SqlBudgetMatchers {
+
+	private SqlBudgetMatchers() {
+	}
+
+	public static ResultMatcher withinSqlBudget() {
+		return result -> {
+			assertNotNull(findBudget(result), "Handler " + result.getHandler() + " declares no @SqlBudget.");
+			statements(result);
+			assertNull(result.getResponse().getHeader(SqlStatisticsFilter.BUDGET_EXCEEDED_HEADER),
+					() -> "SQL budget exceeded: " + result.getResponse().getHeader(SqlStatisticsFilter.BUDGET_EXCEEDED_HEADER));
+		};
+	}
+
+	public static int statements(MvcResult result) {
+		String statements = result.getResponse().getHeader(SqlStatisticsFilter.STATEMENTS_HEADER);
+		assertNotNull(statements, "Response has no " + SqlStatisticsFilter.STATEMENTS_HEADER + " header.");
+		return Integer.parseInt(statements);
+	}
+
+	private static SqlBudget findBudget(MvcResult result) {
+		return result.getHandler() instanceof HandlerMethod handlerMethod ?
+				handlerMethod.getMethodAnnotation(SqlBudget.class) : null;
+	}
+}
@@ -0,0 +1,86 @@
+package music.app.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Puts, replaces and removes song sets and checks what queries return.
+ */
+class MinHashIndexTest {
+
+	private final MinHashIndex index = new MinHashIndex(16, 4, 42);
+
+	@Test
+	void queryRanksSetsBySimilarity() {
+		index.put(1, LongStream.rangeClosed(1, 100).toArray());
+		index.put(2, LongStream.rangeClosed(1, 100).toArray());
+		index.put(3, LongStream.rangeClosed(11, 110).toArray());
+		index.put(4, LongStream.rangeClosed(1001, 1100).toArray());
+
+		List<MinHashIndex.Match> matches = index.query(1, 10);
+
+		assertEquals(List.of(2L, 3L), matches.stream().map(MinHashIndex.Match::id).toList());
+		assertEquals(1.0, matches.get(0).similarity());
+		assertTrue(matches.get(1).similarity() > 0.5 && matches.get(1).similarity() < 1.0);
+	}
+
+	@Test
+	void putReplacesTheSetOfAnId() {
+		index.put(1, LongStream.rangeClosed(1, 100).toArray());
+		index.put(2, LongStream.rangeClosed(1, 100).toArray());
+
+		index.put(2, LongStream.rangeClosed(1001, 1100).toArray());
+
+		assertEquals(2, index.size());
+		assertEquals(List.of(), index.query(1, 10));
+	}
+
+	@Test
+	void removeDropsTheIdFromQueries() {
+		index.put(1, LongStream.rangeClosed(1, 100).toArray());
+		index.put(2, LongStream.rangeClosed(1, 100).toArray());
+		index.put(3, LongStream.rangeClosed(1, 100).toArray());
+
+		index.remove(2);
+		index.remove(2);
+
+		assertEquals(2, index.size());
+		assertEquals(List.of(), index.query(2, 10));
+		assertEquals(List.of(3L), index.query(1, 10).stream().map(MinHashIndex.Match::id).toList());
+		index.remove(3);
+		assertEquals(List.of(), index.query(1, 10));
+	}
+
+	@Test
+	void putWithoutMembersRemovesTheId() {
+		index.put(1, LongStream.rangeClosed(1, 100).toArray());
+		index.put(2, LongStream.rangeClosed(1, 100).toArray());
+
+		index.put(2, new long[0]);
+
+		assertEquals(1, index.size());
+		assertEquals(List.of(), index.query(1, 10));
+	}
+
+	@Test
+	void largeBucketKeepsEveryMemberUntilRemoved() {
+		long[] members = LongStream.rangeClosed(1, 20).toArray();
+		for(long id = 1; id <= 10_000; id++) {
+			index.put(id, members);
+		}
+		for(long id = 2; id <= 10_000; id += 2) {
+			index.remove(id);
+		}
+
+		List<MinHashIndex.Match> matches = index.query(1, 10_000);
+
+		assertEquals(4_999, matches.size());
+		assertTrue(matches.stream().allMatch(match -> match.id() % 2 == 1 && match.id() != 1));
+		assertEquals(List.of(3L, 5L, 7L), index.query(1, 3).stream().map(MinHashIndex.Match::id).toList());
+	}
+}
@@ -0,0 +1,104 @@
+package music.app.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import music.app.MusicAppTestFixture;
+import music.app.controller.model.RelatedSongDto;
+
+/**
+ * Changes playlists after a full build and checks that applying the changed playlists ranks the
+ * same neighbors as building again from scratch.
+ */
+@SpringBootTest(properties = {
+		"music.app.related.max-playlist-size=4",
+		"music.app.related.refresh-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RelatedSongServiceTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private RelatedSongService relatedSongService;
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private MusicAppTestFixture fixture;
+
+	@BeforeEach
+	void createFixture() {
+		fixture = new MusicAppTestFixture(mockMvc, objectMapper, jdbcTemplate);
+	}
+
+	@Test
+	void applyingChangedPlaylistsMatchesFullRebuild() throws Exception {
+		Long userId = fixture.createUser();
+		List<Long> songIds = fixture.importSongs(8);
+		Long firstPlaylistId = fixture.createPlaylistId(userId, songIds.subList(0, 4));
+		Long secondPlaylistId = fixture.createPlaylistId(userId, songIds.subList(2, 5));
+		Long thirdPlaylistId = fixture.createPlaylistId(userId, songIds.subList(4, 8));
+		Long fourthPlaylistId = fixture.createPlaylistId(userId, songIds.subList(5, 7));
+		relatedSongService.rebuild();
+
+		updateSongs(userId, firstPlaylistId, List.of(songIds.get(6)), List.of(songIds.get(0)));
+		updateSongs(userId, secondPlaylistId, List.of(songIds.get(0), songIds.get(7)), List.of());
+		updateSongs(userId, thirdPlaylistId, List.of(), List.of(songIds.get(4), songIds.get(5)));
+		fixture.createPlaylistId(userId, List.of(songIds.get(1), songIds.get(7)));
+		mockMvc.perform(delete("/app/users/{userId}/playlists/{playlistId}", userId, fourthPlaylistId))
+				.andExpect(status().isNoContent());
+		relatedSongService.refresh();
+		Map<Long, List<RelatedSongDto>> applied = relatedSongs(songIds);
+		double appliedPairCounts = pairCounts();
+		relatedSongService.rebuild();
+
+		assertEquals(relatedSongs(songIds), applied);
+		assertEquals(pairCounts(), appliedPairCounts);
+		assertFalse(applied.get(songIds.get(6)).isEmpty());
+	}
+
+	private void updateSongs(Long userId, Long playlistId, List<Long> addSongIds, List<Long> removeSongIds)
+			throws Exception {
+		mockMvc.perform(post("/app/users/{userId}/playlists/{playlistId}/songs/batch", userId, playlistId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(Map.of("addSongIds", addSongIds, "removeSongIds", removeSongIds))))
+				.andExpect(status().isOk());
+	}
+
+	private double pairCounts() {
+		return meterRegistry.get("music.app.related.pair.counts").gauge().value();
+	}
+
+	private Map<Long, List<RelatedSongDto>> relatedSongs(List<Long> songIds) {
+		Map<Long, List<RelatedSongDto>> related = new LinkedHashMap<>();
+		for(Long songId : songIds) {
+			related.put(songId, relatedSongService.getRelatedSongs(songId, relatedSongService.getNeighborsPerSong()));
+		}
+		return related;
+	}
+}
@@ -0,0 +1,126 @@
+package music.app.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import music.app.controller.model.SongSearchHitDto;
+import music.app.dao.SongSummary;
+
+/**
+ * Adds, replaces and removes songs and checks search results against scoring every song.
+ */
+class SongSearchIndexTest {
+
+	private static final String[] WORDS = {"a", "ar", "art", "artist", "artisan", "album", "al", "b", "blue",
+			"blues", "bluest", "7", "70", "707"};
+
+	private final SongSearchIndex index = new SongSearchIndex();
+
+	@Test
+	void searchScoresExactMatchesAbovePrefixMatches() {
+		index.add(new SongSummary(1L, "Blue Moon", "Artisan", "Blues"));
+		index.add(new SongSummary(2L, "Bluest Sky", "Blue", "Album"));
+		index.add(new SongSummary(3L, "Red", "Art", "Blue"));
+
+		List<SongSearchHitDto> hits = index.search(List.of("blue"), 10);
+
+		assertEquals(List.of(1L, 2L, 3L), hits.stream().map(SongSearchHitDto::getSongId).toList());
+		assertEquals(List.of(3.5, 3.5, 1.0), hits.stream().map(SongSearchHitDto::getScore).toList());
+		assertEquals(List.of(3L), index.search(List.of("art", "red"), 10).stream().map(SongSearchHitDto::getSongId).toList());
+		assertEquals(List.of(), index.search(List.of("b"), 10));
+	}
+
+	@Test
+	void removeDropsTheSongFromEveryTerm() {
+		index.add(new SongSummary(1L, "Blue Moon", "Artist", "Album"));
+		index.add(new SongSummary(2L, "Blue Sky", "Artist", "Album"));
+
+		index.remove(1L);
+		index.add(new SongSummary(2L, "Red Sky", "Artist", "Album"));
+
+		assertEquals(List.of(), index.search(List.of("bl"), 10));
+		assertEquals(1, index.songCount());
+		assertEquals(1, index.search(List.of("sky"), 10).size());
+		index.remove(2L);
+		assertEquals(0, index.termCount());
+		assertEquals(0, index.postingCount());
+	}
+
+	@Test
+	void searchRanksLikeScoringEverySong() {
+		Random random = new Random(42);
+		Map<Long, SongSummary> songs = new HashMap<>();
+		for(int round = 0; round < 3000; round++) {
+			long songId = 1 + random.nextInt(600);
+			if(random.nextInt(4) == 0) {
+				index.remove(songId);
+				songs.remove(songId);
+			} else {
+				SongSummary song = new SongSummary(songId, words(random, 3), words(random, 2), words(random, 1));
+				index.add(song);
+				songs.put(songId, song);
+			}
+		}
+		for(int q = 0; q < 500; q++) {
+			List<String> query = new ArrayList<>(SongSearchIndex.tokenize(words(random, 1 + random.nextInt(3))));
+			int limit = 1 + random.nextInt(30);
+
+			List<SongSearchHitDto> hits = index.search(query, limit);
+
+			assertEquals(scoreEverySong(songs, query, limit), hits.stream()
+					.map(hit -> hit.getSongId() + "=" + hit.getScore()).toList(), () -> "query " + query);
+		}
+	}
+
+	private static List<String> scoreEverySong(Map<Long, SongSummary> songs, List<String> query, int limit) {
+		Map<Long, Double> scores = new HashMap<>();
+		for(SongSummary song : songs.values()) {
+			double score = 0;
+			for(String token : query) {
+				double tokenScore = fieldScore(song.songTitle(), token, 3) + fieldScore(song.songArtist(), token, 2)
+						+ fieldScore(song.songAlbum(), token, 1);
+				if(tokenScore == 0) {
+					score = 0;
+					break;
+				}
+				score += tokenScore;
+			}
+			if(score > 0) {
+				scores.put(song.songId(), score);
+			}
+		}
+		return scores.entrySet().stream()
+				.sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+				.limit(limit)
+				.map(entry -> entry.getKey() + "=" + entry.getValue())
+				.toList();
+	}
+
+	private static double fieldScore(String value, String token, double weight) {
+		double score = 0;
+		for(String fieldToken : SongSearchIndex.tokenize(value)) {
+			if(fieldToken.equals(token)) {
+				return weight;
+			}
+			if(token.length() >= 2 && fieldToken.startsWith(token)) {
+				score = weight / 2;
+			}
+		}
+		return score;
+	}
+
+	private static String words(Random random, int count) {
+		List<String> words = new ArrayList<>();
+		for(int i = 0; i < count; i++) {
+			words.add(WORDS[random.nextInt(WORDS.length)]);
+		}
+		return String.join(" ", words);
+	}
+}